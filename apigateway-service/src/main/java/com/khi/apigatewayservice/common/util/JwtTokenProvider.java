@@ -1,14 +1,24 @@
 package com.khi.apigatewayservice.common.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
 
 @Slf4j
 @Component
@@ -16,11 +26,35 @@ public class JwtTokenProvider {
 
     private final SecretKey secretKey;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secret) {
+    /**
+     * 서명 검증이 끝난 토큰 캐시 (key: 토큰 SHA-256)
+     * 같은 세션의 반복 요청은 서명 검증/claims 파싱 없이 userId를 돌려준다.
+     * 항목은 토큰 만료 시각과 max-ttl 중 먼저 오는 시점에 사라짐
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Duration maxTtl;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.cache.max-size:100000}") long maxSize,
+                            @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl,
+                            MeterRegistry meterRegistry) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.maxTtl = maxTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "gateway.jwt");
     }
 
     public String getUserIdFromToken(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.userId();
+        }
+
         Claims claims = Jwts.parser()
                 .setSigningKey(secretKey)
                 .build()
@@ -31,7 +65,14 @@ public class JwtTokenProvider {
 
         // JWT에 uid로 저장되어 있음
         Object uid = claims.get("uid");
-        return uid != null ? String.valueOf(uid) : null;
+        String userId = uid != null ? String.valueOf(uid) : null;
+
+        // 만료 시각이 없는 토큰은 캐시 기간을 정할 수 없으므로 저장하지 않음
+        Date expiration = claims.getExpiration();
+        if (userId != null && expiration != null) {
+            verifiedTokens.put(key, new VerifiedToken(userId, expiration.getTime()));
+        }
+        return userId;
     }
 
     public boolean validateToken(String token) {
@@ -45,4 +86,35 @@ public class JwtTokenProvider {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String userId, long expiresAt) {
+    }
+
+    private class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExpiry = Duration.ofMillis(value.expiresAt() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
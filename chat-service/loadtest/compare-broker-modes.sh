@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# simple broker / STOMP broker relay 모드 동시 세션 부하 비교
+#
+# 같은 DB/Redis를 보는 chat-service 두 개를 각각 CHAT_BROKER_MODE=simple, CHAT_BROKER_MODE=relay로 띄운 뒤 실행한다.
+# (relay 모드는 RabbitMQ STOMP plugin 등 CHAT_BROKER_HOST:CHAT_BROKER_PORT 브로커 필요)
+#
+#   SIMPLE_WS_URL=ws://localhost:8081/ws-chat RELAY_WS_URL=ws://localhost:8082/ws-chat \
+#   SESSIONS_FILE=./sessions.json SESSIONS=10000 ./loadtest/compare-broker-modes.sh
+#
+# 결과는 loadtest/results/<mode>.json (k6 summary)에 남고, 주요 지표를 나란히 출력한다.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+: "${SIMPLE_WS_URL:?SIMPLE_WS_URL required}"
+: "${RELAY_WS_URL:?RELAY_WS_URL required}"
+: "${SESSIONS_FILE:?SESSIONS_FILE required}"
+SESSIONS="${SESSIONS:-10000}"
+
+mkdir -p results
+
+run() {
+  local mode="$1" url="$2"
+  echo "== ${mode}: ${SESSIONS} sessions -> ${url}"
+  k6 run --quiet \
+    -e WS_URL="${url}" \
+    -e BROKER_MODE="${mode}" \
+    -e SESSIONS_FILE="$(realpath "${SESSIONS_FILE}")" \
+    -e SESSIONS="${SESSIONS}" \
+    --summary-export "results/${mode}.json" \
+    stomp-sessions.js
+}
+
+run simple "${SIMPLE_WS_URL}"
+run relay "${RELAY_WS_URL}"
+
+metric() {
+  jq -r "$2" "results/$1.json"
+}
+
+printf '\n%-28s %14s %14s\n' "metric" "simple" "relay"
+for row in \
+  "connected rate|.metrics.stomp_connected.value" \
+  "connect p95 (ms)|.metrics.stomp_connect_ms[\"p(95)\"]" \
+  "delivery p50 (ms)|.metrics.stomp_delivery_ms.med" \
+  "delivery p95 (ms)|.metrics.stomp_delivery_ms[\"p(95)\"]" \
+  "messages received|.metrics.stomp_messages_received.count" \
+  "errors|.metrics.stomp_errors.count // 0"; do
+  name="${row%%|*}"
+  query="${row#*|}"
+  printf '%-28s %14s %14s\n' "${name}" "$(metric simple "${query}")" "$(metric relay "${query}")"
+done
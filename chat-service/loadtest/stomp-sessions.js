@@ -0,0 +1,121 @@
+// chat-service STOMP 동시 세션 부하 테스트 (k6)
+//
+// 세션마다 /ws-chat에 WebSocket으로 붙어 CONNECT → /topic/room/{roomUuid} SUBSCRIBE 후 HOLD 동안 유지한다.
+// SENDER_RATIO 비율의 세션은 SEND_INTERVAL마다 SEND_MESSAGE를 보내고, 본문에 넣은 "lt:<epoch ms>"로
+// 같은 방 구독자가 받은 NEW_MESSAGE의 전달 지연을 잰다.
+//
+//   k6 run -e WS_URL=ws://localhost:8080/ws-chat -e SESSIONS_FILE=./sessions.json loadtest/stomp-sessions.js
+//
+// SESSIONS_FILE: [{"token": "<JWT>", "roomUuid": "<채팅방 uuid>"}, ...]  (세션은 이 목록을 순환해서 사용)
+// BROKER_MODE=relay: 서버의 CHAT_BROKER_MODE=relay와 맞춰 /topic/room.{roomUuid}로 구독 (RabbitMQ destination 형식)
+// simple / relay 모드 비교는 compare-broker-modes.sh 참고
+import ws from 'k6/ws';
+import { check } from 'k6';
+import { Counter, Rate, Trend } from 'k6/metrics';
+import { SharedArray } from 'k6/data';
+
+const WS_URL = __ENV.WS_URL || 'ws://localhost:8080/ws-chat';
+const SESSIONS = parseInt(__ENV.SESSIONS || '10000', 10);
+const RAMP = __ENV.RAMP || '2m';
+const HOLD_MS = parseInt(__ENV.HOLD_MS || '180000', 10);
+const SENDER_RATIO = parseFloat(__ENV.SENDER_RATIO || '0.05');
+const SEND_INTERVAL_MS = parseInt(__ENV.SEND_INTERVAL_MS || '5000', 10);
+const TOPIC_SEPARATOR = (__ENV.BROKER_MODE || 'simple') === 'relay' ? '.' : '/';
+
+const sessions = new SharedArray('sessions', () => JSON.parse(open(__ENV.SESSIONS_FILE || './sessions.json')));
+
+const connectTime = new Trend('stomp_connect_ms', true);
+const deliveryTime = new Trend('stomp_delivery_ms', true);
+const connected = new Rate('stomp_connected');
+const received = new Counter('stomp_messages_received');
+const sent = new Counter('stomp_messages_sent');
+const errors = new Counter('stomp_errors');
+
+export const options = {
+  scenarios: {
+    sessions: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: RAMP, target: SESSIONS },
+        { duration: `${Math.ceil(HOLD_MS / 1000)}s`, target: SESSIONS },
+      ],
+      gracefulRampDown: '30s',
+    },
+  },
+  thresholds: {
+    stomp_connected: ['rate>0.99'],
+  },
+};
+
+function frame(command, headers, body = '') {
+  let out = `${command}\n`;
+  for (const [key, value] of Object.entries(headers)) {
+    out += `${key}:${value}\n`;
+  }
+  return `${out}\n${body}\0`;
+}
+
+export default function () {
+  const session = sessions[(__VU - 1) % sessions.length];
+  const isSender = Math.random() < SENDER_RATIO;
+  const started = Date.now();
+
+  const res = ws.connect(WS_URL, {}, (socket) => {
+    let stompConnected = false;
+
+    socket.on('open', () => {
+      socket.send(frame('CONNECT', {
+        'accept-version': '1.2',
+        'heart-beat': '0,0',
+        Authorization: `Bearer ${session.token}`,
+      }));
+    });
+
+    socket.on('message', (data) => {
+      for (const raw of data.split('\0')) {
+        const text = raw.replace(/^\n+/, '');
+        if (!text) {
+          continue;
+        }
+        const command = text.substring(0, text.indexOf('\n'));
+        if (command === 'CONNECTED') {
+          stompConnected = true;
+          connected.add(1);
+          connectTime.add(Date.now() - started);
+          socket.send(frame('SUBSCRIBE', { id: 'room', destination: `/topic/room${TOPIC_SEPARATOR}${session.roomUuid}` }));
+          if (isSender) {
+            socket.setInterval(() => {
+              const body = JSON.stringify({
+                type: 'SEND_MESSAGE',
+                content: { roomId: session.roomUuid, message: `lt:${Date.now()}` },
+              });
+              socket.send(frame('SEND', { destination: '/app/chat', 'content-type': 'application/json' }, body));
+              sent.add(1);
+            }, SEND_INTERVAL_MS);
+          }
+        } else if (command === 'MESSAGE') {
+          received.add(1);
+          const stamp = /lt:(\d+)/.exec(text);
+          if (stamp) {
+            deliveryTime.add(Date.now() - parseInt(stamp[1], 10));
+          }
+        } else if (command === 'ERROR') {
+          errors.add(1);
+        }
+      }
+    });
+
+    socket.on('error', () => errors.add(1));
+
+    socket.setTimeout(() => {
+      if (!stompConnected) {
+        connected.add(0);
+      }
+      socket.send(frame('DISCONNECT', {}));
+      socket.close();
+    }, HOLD_MS);
+  });
+
+  check(res, { 'websocket upgraded': (r) => r && r.status === 101 });
+}
@@ -0,0 +1,82 @@
+package com.khi.chatservice.application;
+
+import com.khi.chatservice.properties.AnalysisExecutorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 보고서 분석 요청 접수
+ * chatAnalysisExecutor가 가득 차 거절되면 요청 스레드에서 대신 실행하지 않고 재시도 대기열에 넣은 뒤 바로 반환한다.
+ * 대기열은 주기적으로 다시 제출되며, 대기열마저 가득 차면 해당 보고서 분석은 실패로 기록된다.
+ */
+@Slf4j
+@Component
+public class ChatAnalysisDispatcher {
+
+    private final ChatAnalysisService chatAnalysisService;
+    private final AnalysisExecutorProperties props;
+    private final Deque<PendingAnalysis> retryQueue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger retryQueueSize = new AtomicInteger();
+    private final Counter rejected;
+    private final Counter dropped;
+
+    public ChatAnalysisDispatcher(ChatAnalysisService chatAnalysisService,
+                                  AnalysisExecutorProperties props,
+                                  MeterRegistry meterRegistry) {
+        this.chatAnalysisService = chatAnalysisService;
+        this.props = props;
+        this.rejected = Counter.builder("chat.analysis.rejected").register(meterRegistry);
+        this.dropped = Counter.builder("chat.analysis.dropped").register(meterRegistry);
+        meterRegistry.gauge("chat.analysis.retry.queue.size", retryQueueSize);
+    }
+
+    private record PendingAnalysis(Long roomId, Long reportId) {
+    }
+
+    public void dispatch(Long roomId, Long reportId) {
+        try {
+            chatAnalysisService.asyncRagAnalysis(roomId, reportId);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            deferLast(new PendingAnalysis(roomId, reportId));
+        }
+    }
+
+    /**
+     * 대기열 앞에서부터 다시 제출. executor가 또 거절하면 순서를 유지한 채 다음 주기로 미룸
+     */
+    @Scheduled(fixedDelayString = "${tictactalk.analysis-executor.retry-interval-ms:5000}")
+    public void retryRejected() {
+        PendingAnalysis pending;
+        while ((pending = retryQueue.pollFirst()) != null) {
+            retryQueueSize.decrementAndGet();
+            try {
+                chatAnalysisService.asyncRagAnalysis(pending.roomId(), pending.reportId());
+            } catch (TaskRejectedException e) {
+                retryQueue.offerFirst(pending);
+                retryQueueSize.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void deferLast(PendingAnalysis pending) {
+        if (retryQueueSize.incrementAndGet() > props.getRetryQueueCapacity()) {
+            retryQueueSize.decrementAndGet();
+            dropped.increment();
+            log.error("Analysis request dropped (executor and retry queue full) - roomId: {}, reportId: {}",
+                    pending.roomId(), pending.reportId());
+            return;
+        }
+        retryQueue.offerLast(pending);
+        log.warn("Analysis executor full -> retry later - roomId: {}, reportId: {}", pending.roomId(), pending.reportId());
+    }
+}
@@ -37,7 +37,7 @@ public class ChatAnalysisService {
     private final ChatRoomRepository roomRepo;
     private final ChatRoomReadStatusRepository readStatusRepo;
 
-    @Async
+    @Async("chatAnalysisExecutor")
     @Transactional
     public void asyncRagAnalysis(Long roomId, Long reportId) {
         try {
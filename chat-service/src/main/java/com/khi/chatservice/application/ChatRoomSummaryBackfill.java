@@ -0,0 +1,45 @@
+package com.khi.chatservice.application;
+
+import com.khi.chatservice.domain.entity.ChatRoomParticipantEntity;
+import com.khi.chatservice.domain.repository.ChatRoomParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 요약 테이블 도입 이전에 만들어진 참여자에 대해 chat_room_summaries 행을 채움
+ * 빠진 행이 없으면 쿼리 한 번으로 끝난다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomSummaryBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final ChatRoomParticipantRepository partRepo;
+    private final ChatRoomSummaryService summaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        try {
+            List<ChatRoomParticipantEntity> batch;
+            while (!(batch = partRepo.findWithoutSummary(PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+                batch.forEach(part -> summaryService.rebuild(part.getRoom(), part.getUserId()));
+                total += batch.size();
+            }
+        } catch (Exception e) {
+            log.error("Chat room summary backfill stopped after {} rows", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Chat room summary backfill completed - rows: {}", total);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.khi.chatservice.application;
+
+import com.khi.chatservice.domain.entity.ChatMessageEntity;
+import com.khi.chatservice.domain.entity.ChatRoomEntity;
+import com.khi.chatservice.domain.entity.ChatRoomSummaryEntity;
+import com.khi.chatservice.domain.repository.ChatRoomRepository;
+import com.khi.chatservice.domain.repository.ChatRoomSummaryRepository;
+import com.khi.chatservice.domain.repository.projection.ChatRoomSummaryProjection;
+import com.khi.chatservice.redis.UnreadCounterStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * chat_room_summaries 쓰기 담당
+ * 메시지 전송/읽음/참여/나가기 시점에 (채팅방, 사용자) 요약 행을 증분 갱신한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomSummaryService {
+
+    private final ChatRoomSummaryRepository summaryRepo;
+    private final ChatRoomRepository roomRepo;
+    private final UnreadCounterStore unreadCounterStore;
+
+    /**
+     * 참여자가 생겼을 때 요약 행 생성. 이미 있는 방에 들어온 경우 기존 메시지 기준으로 값을 계산하고,
+     * 상대방이 비어 있던 기존 참여자의 행에도 이 사용자를 상대방으로 채운다.
+     */
+    @Transactional
+    public void onParticipantJoined(ChatRoomEntity room, String userId) {
+        rebuild(room, userId);
+        summaryRepo.fillOpponent(room.getId(), userId);
+    }
+
+    @Transactional
+    public void onParticipantLeft(Long roomId, String userId) {
+        summaryRepo.deleteByRoomIdAndUserId(roomId, userId);
+        summaryRepo.clearOpponent(roomId, userId);
+        unreadCounterStore.evictAfterCommit(userId, roomId);
+    }
+
+    @Transactional
+    public void onMessageSent(ChatMessageEntity msg) {
+        Long roomId = msg.getRoom().getId();
+        LocalDateTime now = LocalDateTime.now();
+        summaryRepo.updateLastMessage(roomId, msg.getId(), msg.getContent(), msg.getSentAt(), now);
+
+        // Redis 카운터를 쓰면 메시지마다 DB를 갱신하지 않고 UnreadCounterReconciler가 주기적으로 저장
+        if (unreadCounterStore.isEnabled()) {
+            unreadCounterStore.incrementAfterCommit(roomId,
+                    summaryRepo.findUserIdsByRoomIdExcept(roomId, msg.getSenderId()));
+        } else {
+            summaryRepo.incrementUnread(roomId, msg.getSenderId(), now);
+        }
+    }
+
+    @Transactional
+    public void onRead(Long roomId, String userId, Long lastReadMessageId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (summaryRepo.resetUnreadIfCaughtUp(roomId, userId, lastReadMessageId, now) > 0) {
+            unreadCounterStore.setAfterCommit(userId, roomId, 0);
+        } else {
+            // 중간까지만 읽은 경우 메시지 테이블에서 다시 센 값으로 Redis 카운터도 맞춤
+            summaryRepo.recountUnread(roomId, userId, lastReadMessageId, now);
+            if (unreadCounterStore.isEnabled()) {
+                summaryRepo.findUnreadCount(roomId, userId)
+                        .ifPresent(count -> unreadCounterStore.setAfterCommit(userId, roomId, count));
+            }
+        }
+    }
+
+    /**
+     * Redis 카운터 값을 요약 행에 저장 (UnreadCounterReconciler)
+     *
+     * @return 갱신된 행 수 (나간 사용자의 항목은 행이 없어 0)
+     */
+    @Transactional
+    public int saveUnreadCounts(Map<UnreadCounterStore.DirtyCounter, Long> counts) {
+        int rows = 0;
+        for (Map.Entry<UnreadCounterStore.DirtyCounter, Long> entry : counts.entrySet()) {
+            rows += summaryRepo.updateUnread(entry.getKey().roomId(), entry.getKey().userId(), entry.getValue());
+        }
+        return rows;
+    }
+
+    /**
+     * 메시지/읽음 테이블에서 직접 계산한 값으로 요약 행을 만들거나 덮어씀
+     */
+    @Transactional
+    public void rebuild(ChatRoomEntity room, String userId) {
+        ChatRoomSummaryProjection row = roomRepo.findRoomSummary(room.getId(), userId).orElse(null);
+        if (row == null) {
+            return;
+        }
+
+        ChatRoomSummaryEntity summary = summaryRepo.findByRoomIdAndUserId(room.getId(), userId)
+                .orElseGet(() -> ChatRoomSummaryEntity.builder()
+                        .room(room)
+                        .userId(userId)
+                        .build());
+        summary.refresh(row.opponentId(), row.lastMessageId(), row.lastMessage(),
+                row.lastMessageTime(), row.unreadCount());
+        summaryRepo.save(summary);
+        unreadCounterStore.setAfterCommit(userId, room.getId(), row.unreadCount());
+    }
+}
@@ -8,15 +8,18 @@ import com.khi.chatservice.domain.entity.ChatRoomEntity;
 import com.khi.chatservice.domain.entity.ChatRoomParticipantEntity;
 import com.khi.chatservice.domain.entity.ChatRoomReadStatusEntity;
 import com.khi.chatservice.domain.entity.ChatRoomStatus;
+import com.khi.chatservice.domain.entity.ChatRoomSummaryEntity;
 import com.khi.chatservice.domain.repository.ChatMessageRepository;
 import com.khi.chatservice.domain.repository.ChatRoomParticipantRepository;
 import com.khi.chatservice.domain.repository.ChatRoomReadStatusRepository;
 import com.khi.chatservice.domain.repository.ChatRoomRepository;
+import com.khi.chatservice.domain.repository.ChatRoomSummaryRepository;
 import com.khi.chatservice.presentation.dto.res.ChatHistoryRes;
 import com.khi.chatservice.presentation.dto.res.ChatMessageRes;
 import com.khi.chatservice.presentation.dto.res.ChatRoomListRes;
 import com.khi.chatservice.presentation.dto.res.CreateRoomRes;
 import com.khi.chatservice.presentation.dto.res.SliceInfo;
+import com.khi.chatservice.redis.UnreadCounterStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -29,8 +32,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,7 +48,10 @@ public class ChatService {
     private final ChatMessageRepository msgRepo;
     private final ChatRoomReadStatusRepository readStatusRepo;
     private final UserClient userClient;
-    private final ChatAnalysisService chatAnalysisService;
+    private final ChatAnalysisDispatcher chatAnalysisDispatcher;
+    private final ChatRoomSummaryRepository summaryRepo;
+    private final ChatRoomSummaryService summaryService;
+    private final UnreadCounterStore unreadCounterStore;
 
     @Transactional
     public ChatMessageEntity sendMessage(Long roomId, String senderId, String content) {
@@ -59,6 +67,7 @@ public class ChatService {
                     .room(room)
                     .userId(senderId)
                     .build());
+            summaryService.onParticipantJoined(room, senderId);
             log.info("User {} automatically joined room {}", senderId, roomId);
         }
 
@@ -68,7 +77,9 @@ public class ChatService {
                 .content(content)
                 .sentAt(LocalDateTime.now())
                 .build();
-        return msgRepo.save(msg);
+        ChatMessageEntity saved = msgRepo.save(msg);
+        summaryService.onMessageSent(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -123,21 +134,35 @@ public class ChatService {
                 .createdAt(LocalDateTime.now())
                 .build());
 
-        userIds.forEach(uid ->
-                partRepo.save(ChatRoomParticipantEntity.builder()
-                        .room(room)
-                        .userId(uid)
-                        .build()));
+        userIds.forEach(uid -> {
+            partRepo.save(ChatRoomParticipantEntity.builder()
+                    .room(room)
+                    .userId(uid)
+                    .build());
+            summaryService.onParticipantJoined(room, uid);
+        });
 
         return new CreateRoomRes(roomUuid);
     }
 
     @Transactional(readOnly = true)
     public ChatRoomListRes getChatRooms(String userId, Pageable pageable) {
-        Page<ChatRoomParticipantEntity> page = partRepo.findByUserId(userId, pageable);
+        // 방별 요약은 chat_room_summaries 한 행씩, 상대방 정보는 페이지당 한 번의 배치 호출로 조회
+        Page<ChatRoomSummaryEntity> page = summaryRepo.findByUserId(userId, pageable);
+
+        Map<String, UserInfo> opponents = getUserInfoMap(page.getContent().stream()
+                .map(ChatRoomSummaryEntity::getOpponentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        // 안 읽은 수는 Redis 카운터(원본), 없으면 요약 테이블에 저장된 값으로 채움
+        Map<Long, Long> unreadCounts = unreadCounterStore.get(userId, page.getContent().stream()
+                .map(summary -> summary.getRoom().getId())
+                .toList());
 
         List<ChatRoomListRes.ChatRoomSummary> roomSummaries = page.getContent().stream()
-                .map(participant -> getChatRoomSummary(participant.getRoom().getId(), userId))
+                .map(summary -> toChatRoomSummary(summary, opponents,
+                        resolveUnread(summary, unreadCounts.get(summary.getRoom().getId()))))
                 .toList();
 
         return ChatRoomListRes.builder()
@@ -160,54 +185,94 @@ public class ChatService {
                         .build());
         status.updateLastRead(lastReadMessageId);
         readStatusRepo.save(status);
+        summaryService.onRead(roomId, userId, lastReadMessageId);
     }
 
     @Transactional(readOnly = true)
     public ChatRoomListRes.ChatRoomSummary getChatRoomSummary(Long roomId, String userId) {
-        ChatRoomEntity room = isExistChatRoom(roomId);
+        ChatRoomSummaryEntity summary = summaryRepo.findByRoomIdAndUserId(roomId, userId)
+                .orElseThrow(() -> new ApiException("chat room summary not found"));
 
-        String opponentId = room.getParticipants().stream()
-                .map(ChatRoomParticipantEntity::getUserId)
-                .filter(id -> !id.equals(userId))
-                .findFirst()
-                .orElse(null);
+        Map<String, UserInfo> opponents = summary.getOpponentId() != null
+                ? getUserInfoMap(Set.of(summary.getOpponentId()))
+                : Map.of();
 
+        Long cached = unreadCounterStore.getForRoom(roomId, List.of(userId)).get(userId);
+        return toChatRoomSummary(summary, opponents, resolveUnread(summary, cached));
+    }
+
+    /**
+     * 채팅방 참여자 전원의 요약을 한 번에 조회 (userId → 요약)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ChatRoomListRes.ChatRoomSummary> getChatRoomSummaries(Long roomId) {
+        List<ChatRoomSummaryEntity> summaries = summaryRepo.findByRoomId(roomId);
+
+        Map<String, UserInfo> opponents = getUserInfoMap(summaries.stream()
+                .map(ChatRoomSummaryEntity::getOpponentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        Map<String, Long> unreadCounts = unreadCounterStore.getForRoom(roomId, summaries.stream()
+                .map(ChatRoomSummaryEntity::getUserId)
+                .toList());
+
+        return summaries.stream()
+                .collect(Collectors.toMap(
+                        ChatRoomSummaryEntity::getUserId,
+                        summary -> toChatRoomSummary(summary, opponents,
+                                resolveUnread(summary, unreadCounts.get(summary.getUserId())))));
+    }
+
+    /**
+     * Redis 카운터가 원본. 없으면 요약 행에 저장된 값(+ 그 사이 증가분)으로 채움
+     */
+    private long resolveUnread(ChatRoomSummaryEntity summary, Long cached) {
+        if (cached != null) {
+            return cached;
+        }
+        return unreadCounterStore.fill(summary.getUserId(), summary.getRoom().getId(), summary.getUnreadCount());
+    }
+
+    private ChatRoomListRes.ChatRoomSummary toChatRoomSummary(ChatRoomSummaryEntity summary,
+                                                              Map<String, UserInfo> opponents,
+                                                              long unreadCount) {
         String opponentNickname = null;
         String opponentProfileUrl = null;
 
-        if (opponentId != null) {
-            try {
-                UserInfo opponent = userClient.getUserInfo(opponentId);
-                if (opponent != null) {
-                    opponentNickname = opponent.nickname();
-                    opponentProfileUrl = opponent.profileUrl();
-                }
-            } catch (Exception e) {
-                log.warn("Failed to get user info for opponentId: {}, using default nickname", opponentId);
+        if (summary.getOpponentId() != null) {
+            UserInfo opponent = opponents.get(summary.getOpponentId());
+            if (opponent != null) {
+                opponentNickname = opponent.nickname();
+                opponentProfileUrl = opponent.profileUrl();
+            } else {
                 opponentNickname = "알 수 없음";
             }
         }
 
-        ChatMessageEntity lastMessage = msgRepo.findTopByRoomOrderBySentAtDesc(room);
-
-        ChatRoomReadStatusEntity readStatus = readStatusRepo.findByChatRoomAndUserId(room, userId)
-                .orElse(null);
-
-        Long lastReadMessageId = readStatus != null ? readStatus.getLastReadMessageId() : 0L;
-
-        int unreadCount = msgRepo.countByRoomIdAndIdGreaterThanAndSenderIdNot(
-                room.getId(), lastReadMessageId, userId);
-
         return ChatRoomListRes.ChatRoomSummary.builder()
-                .id(room.getId())
+                .id(summary.getRoom().getId())
                 .nickname(opponentNickname)
-                .lastMessage(lastMessage != null ? lastMessage.getContent() : null)
-                .lastMessageTime(lastMessage != null ? lastMessage.getSentAt() : null)
-                .unreadCount(unreadCount)
+                .lastMessage(summary.getLastMessageContent())
+                .lastMessageTime(summary.getLastMessageTime())
+                .unreadCount((int) unreadCount)
                 .profileUrl(opponentProfileUrl)
                 .build();
     }
 
+    private Map<String, UserInfo> getUserInfoMap(Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return userClient.getUserInfos(new ArrayList<>(userIds)).stream()
+                    .collect(Collectors.toMap(UserInfo::getUserId, Function.identity(), (a, b) -> a));
+        } catch (Exception e) {
+            log.warn("Failed to get user infos for {} users, using default nickname", userIds.size());
+            return Map.of();
+        }
+    }
+
     @Transactional
     public void leaveRoom(Long roomId, String userId) {
         ChatRoomEntity room = isExistChatRoom(roomId);
@@ -218,6 +283,8 @@ public class ChatService {
 
         readStatusRepo.findByChatRoomAndUserId(room, userId)
                 .ifPresent(readStatusRepo::delete);
+
+        summaryService.onParticipantLeft(roomId, userId);
     }
 
     private ChatRoomParticipantEntity isExistParticipant(Long roomId, String userId) {
@@ -295,7 +362,7 @@ public class ChatService {
 
         log.info("Chat ended - roomId: {}, userId: {}, reportId: {}", roomId, userId, reportId);
 
-        chatAnalysisService.asyncRagAnalysis(roomId, reportId);
+        chatAnalysisDispatcher.dispatch(roomId, reportId);
 
         return String.valueOf(reportId);
     }
@@ -319,7 +386,7 @@ public class ChatService {
 
         log.info("Chat ended by UUID - roomUuid: {}, reportId: {}", roomUuid, reportId);
 
-        chatAnalysisService.asyncRagAnalysis(room.getId(), reportId);
+        chatAnalysisDispatcher.dispatch(room.getId(), reportId);
 
         return String.valueOf(reportId);
     }
@@ -354,6 +421,7 @@ public class ChatService {
                     .room(room)
                     .userId(userId)
                     .build());
+            summaryService.onParticipantJoined(room, userId);
             log.info("User {} joined room {} (uuid={}) via invite link", userId, room.getId(), roomUuid);
         } else {
             log.info("User {} already participates in room {} (uuid={})", userId, room.getId(), roomUuid);
@@ -0,0 +1,73 @@
+package com.khi.chatservice.application;
+
+import com.khi.chatservice.domain.entity.ChatRoomSummaryEntity;
+import com.khi.chatservice.domain.repository.ChatRoomSummaryRepository;
+import com.khi.chatservice.properties.UnreadCounterProperties;
+import com.khi.chatservice.redis.UnreadCounterStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 안 읽은 수 카운터(원본)를 chat_room_summaries에 주기적으로 저장
+ * 메시지마다 DB를 갱신하지 않고, 바뀐 카운터만 모아 주기마다 한 번 덮어쓴다.
+ * Redis 값을 잃으면 마지막으로 저장된 값부터 다시 시작하므로 오차는 최대 한 주기 분량이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCounterReconciler {
+
+    private final ChatRoomSummaryRepository summaryRepo;
+    private final ChatRoomSummaryService summaryService;
+    private final UnreadCounterStore unreadCounterStore;
+    private final UnreadCounterProperties props;
+
+    @Scheduled(fixedDelayString = "${tictactalk.unread-counter.reconcile-interval-ms:10000}")
+    public void reconcile() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        List<UnreadCounterStore.DirtyCounter> dirty;
+        try {
+            dirty = unreadCounterStore.popDirty(props.getReconcileBatchSize());
+        } catch (Exception e) {
+            log.warn("Unread counter reconcile skipped - error: {}", e.getMessage());
+            return;
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<UnreadCounterStore.DirtyCounter, Long> counts = new LinkedHashMap<>();
+            dirty.forEach(counter -> counts.put(counter, current(counter)));
+            int rows = summaryService.saveUnreadCounts(counts);
+            log.debug("Unread counters saved - dirty: {}, rows: {}", dirty.size(), rows);
+        } catch (Exception e) {
+            // 다음 주기에 다시 저장
+            log.warn("Unread counter save failed - dirty: {}, error: {}", dirty.size(), e.getMessage());
+            dirty.forEach(unreadCounterStore::markDirty);
+        }
+    }
+
+    /**
+     * Redis 값. 없으면 (재시작 등) 저장된 값 + 그 사이 증가분으로 채운 값
+     */
+    private long current(UnreadCounterStore.DirtyCounter counter) {
+        Long cached = unreadCounterStore.getForRoom(counter.roomId(), List.of(counter.userId()))
+                .get(counter.userId());
+        if (cached != null) {
+            return cached;
+        }
+        long stored = summaryRepo.findByRoomIdAndUserId(counter.roomId(), counter.userId())
+                .map(ChatRoomSummaryEntity::getUnreadCount)
+                .orElse(0L);
+        return unreadCounterStore.fill(counter.userId(), counter.roomId(), stored);
+    }
+}
@@ -0,0 +1,166 @@
+package com.khi.chatservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.khi.chatservice.client.dto.UserInfo;
+import com.khi.chatservice.properties.UserCacheProperties;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * security-service 사용자 조회 캐시 decorator
+ * 로컬(Caffeine) → Redis → Feign 순서로 조회하며, 누락분은 배치 API 한 번으로 가져온다.
+ * 프로필 변경 시 security-service가 발행하는 이벤트로 무효화된다 (UserProfileInvalidationListener).
+ */
+@Hidden
+@Slf4j
+@Primary
+@Component
+public class CachingUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserCacheProperties props;
+    private final Cache<String, UserInfo> localCache;
+
+    public CachingUserClient(@Qualifier("feignUserClient") UserClient delegate,
+                             StringRedisTemplate stringRedisTemplate,
+                             ObjectMapper objectMapper,
+                             UserCacheProperties props) {
+        this.delegate = delegate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(props.getLocalTtl())
+                .maximumSize(props.getLocalMaxSize())
+                .build();
+    }
+
+    @Override
+    public UserInfo getUserInfo(String userId) {
+        if (!props.isEnabled()) {
+            return delegate.getUserInfo(userId);
+        }
+
+        UserInfo cached = localCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        cached = getFromRedis(List.of(userId)).get(userId);
+        if (cached != null) {
+            localCache.put(userId, cached);
+            return cached;
+        }
+
+        UserInfo loaded = delegate.getUserInfo(userId);
+        if (loaded != null) {
+            store(List.of(loaded));
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<UserInfo> getUserInfos(List<String> userIds) {
+        if (!props.isEnabled()) {
+            return delegate.getUserInfos(userIds);
+        }
+
+        Map<String, UserInfo> found = new HashMap<>(localCache.getAllPresent(userIds));
+
+        List<String> missing = userIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            Map<String, UserInfo> fromRedis = getFromRedis(missing);
+            localCache.putAll(fromRedis);
+            found.putAll(fromRedis);
+        }
+
+        List<String> toLoad = missing.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!toLoad.isEmpty()) {
+            List<UserInfo> loaded = delegate.getUserInfos(toLoad);
+            store(loaded);
+            loaded.forEach(user -> found.put(user.userId(), user));
+        }
+
+        return new LinkedHashSet<>(userIds).stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void evict(String userId) {
+        localCache.invalidate(userId);
+        if (props.isRedisEnabled()) {
+            try {
+                stringRedisTemplate.delete(props.getRedisKeyPrefix() + userId);
+            } catch (Exception e) {
+                log.warn("User cache evict failed - userId: {}, error: {}", userId, e.getMessage());
+            }
+        }
+        log.info("User cache evicted - userId: {}", userId);
+    }
+
+    private Map<String, UserInfo> getFromRedis(List<String> userIds) {
+        Map<String, UserInfo> result = new HashMap<>();
+        if (!props.isRedisEnabled()) {
+            return result;
+        }
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(userIds.stream()
+                    .map(id -> props.getRedisKeyPrefix() + id)
+                    .toList());
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < userIds.size(); i++) {
+                String json = values.get(i);
+                if (json != null) {
+                    result.put(userIds.get(i), objectMapper.readValue(json, UserInfo.class));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("User cache read failed: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    private void store(List<UserInfo> users) {
+        List<UserInfo> valid = new ArrayList<>();
+        for (UserInfo user : users) {
+            if (user != null && user.userId() != null) {
+                localCache.put(user.userId(), user);
+                valid.add(user);
+            }
+        }
+        if (!props.isRedisEnabled() || valid.isEmpty()) {
+            return;
+        }
+        try {
+            for (UserInfo user : valid) {
+                stringRedisTemplate.opsForValue().set(props.getRedisKeyPrefix() + user.userId(),
+                        objectMapper.writeValueAsString(user), props.getRedisTtl());
+            }
+        } catch (Exception e) {
+            log.warn("User cache write failed: {}", e.getMessage());
+        }
+    }
+}
@@ -10,7 +10,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.List;
 
 @Hidden
-@FeignClient(name = "security-service", url = "${security-service.url}")
+@FeignClient(name = "security-service", url = "${security-service.url}", qualifiers = "feignUserClient")
 public interface UserClient {
 
     @GetMapping("/security/users/{userId}")
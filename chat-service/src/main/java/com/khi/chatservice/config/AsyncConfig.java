@@ -0,0 +1,37 @@
+package com.khi.chatservice.config;
+
+import com.khi.chatservice.properties.AnalysisExecutorProperties;
+import com.khi.chatservice.properties.BroadcastProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableConfigurationProperties({AnalysisExecutorProperties.class, BroadcastProperties.class})
+public class AsyncConfig {
+
+    /**
+     * 보고서 분석 요청(rag-service 호출) 전용 executor.
+     * 대기열이 가득 차면 요청 스레드에서 Feign 호출을 대신 실행하지 않고 바로 거절한다.
+     * 거절된 요청은 {@link com.khi.chatservice.application.ChatAnalysisDispatcher}가 재시도 대기열에 넣는다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor chatAnalysisExecutor(AnalysisExecutorProperties props, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getCorePoolSize());
+        executor.setMaxPoolSize(props.getMaxPoolSize());
+        executor.setQueueCapacity(props.getQueueCapacity());
+        executor.setThreadNamePrefix("chat-analysis-");
+        // virtual thread 모드에서도 pool 크기로 rag-service 동시 호출 수는 그대로 제한됨
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -3,8 +3,14 @@ package com.khi.chatservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.khi.chatservice.properties.RelayProperties;
+import com.khi.chatservice.properties.UnreadCounterProperties;
+import com.khi.chatservice.properties.UserCacheProperties;
 import com.khi.chatservice.redis.RedisSubscriber;
+import com.khi.chatservice.redis.RelayChannelRouter;
+import com.khi.chatservice.redis.UserProfileInvalidationListener;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -18,6 +24,7 @@ import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSeriali
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
+@EnableConfigurationProperties({UnreadCounterProperties.class, UserCacheProperties.class, RelayProperties.class})
 public class RedisConfig {
 
     @Value("${spring.data.redis.host}")
@@ -55,11 +62,6 @@ public class RedisConfig {
         return redisTemplate;
     }
 
-    @Bean
-    public ChannelTopic chatTopic() {
-        return new ChannelTopic("chat:messages");
-    }
-
     @Bean
     public MessageListenerAdapter messageListenerAdapter(RedisSubscriber redisSubscriber) {
         return new MessageListenerAdapter(redisSubscriber, "onMessage");
@@ -69,10 +71,16 @@ public class RedisConfig {
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory redisConnectionFactory,
             MessageListenerAdapter messageListenerAdapter,
-            ChannelTopic chatTopic) {
+            RelayChannelRouter relayChannelRouter,
+            UserProfileInvalidationListener userProfileInvalidationListener,
+            UserCacheProperties userCacheProperties) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(redisConnectionFactory);
-        container.addMessageListener(messageListenerAdapter, chatTopic);
+        // 샤딩 모드에서도 단일 채널은 계속 구독 (샤딩 이전 버전 노드가 발행하는 이벤트 수신용)
+        // shard 채널은 RelayShardSubscriptions가 로컬 STOMP 구독에 맞춰 동적으로 추가/해제
+        container.addMessageListener(messageListenerAdapter, new ChannelTopic(relayChannelRouter.legacyChannel()));
+        container.addMessageListener(userProfileInvalidationListener,
+                new ChannelTopic(userCacheProperties.getInvalidationChannel()));
         return container;
     }
 }
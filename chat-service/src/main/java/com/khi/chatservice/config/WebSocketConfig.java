@@ -3,27 +3,58 @@ package com.khi.chatservice.config;
 import com.khi.chatservice.interceptor.JwtChannelInterceptor;
 import com.khi.chatservice.properties.CorsProperties;
 import com.khi.chatservice.properties.WebSocketProperties;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableWebSocketMessageBroker
 @EnableConfigurationProperties({WebSocketProperties.class, CorsProperties.class})
-@RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final CorsProperties corsProperties;
     private final WebSocketProperties wsProps;
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final MeterRegistry meterRegistry;
+    private final Counter slowConsumerDisconnects;
+    private final boolean virtualThreads;
+
+    public WebSocketConfig(CorsProperties corsProperties,
+                           WebSocketProperties wsProps,
+                           JwtChannelInterceptor jwtChannelInterceptor,
+                           MeterRegistry meterRegistry,
+                           Environment environment) {
+        this.corsProperties = corsProperties;
+        this.wsProps = wsProps;
+        this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.slowConsumerDisconnects = Counter.builder("chat.websocket.slow.consumer.disconnects")
+                .register(meterRegistry);
+    }
 
     @Bean
     public TaskScheduler stompTaskScheduler() {
@@ -37,6 +68,61 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration reg) {
         reg.interceptors(jwtChannelInterceptor);
+        configurePool(reg, wsProps.getInbound(), "inbound");
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration reg) {
+        configurePool(reg, wsProps.getOutbound(), "outbound");
+    }
+
+    /**
+     * 세션별 전송 시간/버퍼 한도. 느린 클라이언트 하나가 outbound 스레드를 붙잡지 않도록
+     * 한도를 넘으면 해당 세션만 끊는다.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = wsProps.getTransport();
+        registration.setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(status)) {
+                            slowConsumerDisconnects.increment();
+                            log.warn("WebSocket session closed as slow consumer - sessionId: {}", session.getId());
+                        }
+                        super.afterConnectionClosed(session, status);
+                    }
+                });
+    }
+
+    /**
+     * 채널 스레드 풀 설정 + 대기열 길이/활성 스레드 수 gauge 등록.
+     * 스레드와 대기열이 모두 차면 프레임을 버리므로 거부 건수를 chat.websocket.channel.rejected로 남긴다
+     */
+    private void configurePool(ChannelRegistration reg, WebSocketProperties.ChannelPool pool, String channel) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setThreadNamePrefix("ws-" + channel + "-");
+        executor.setVirtualThreads(virtualThreads);
+
+        Tags tags = Tags.of("channel", channel);
+        Counter rejected = Counter.builder("chat.websocket.channel.rejected").tags(tags).register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, threadPool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, threadPool);
+        });
+        executor.initialize();
+        reg.taskExecutor(executor);
+
+        meterRegistry.gauge("chat.websocket.channel.queue.size", tags, executor,
+                e -> e.getThreadPoolExecutor().getQueue().size());
+        meterRegistry.gauge("chat.websocket.channel.active", tags, executor, ThreadPoolTaskExecutor::getActiveCount);
     }
 
     @Override
@@ -48,11 +134,37 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/queue", "/topic")
-                .setTaskScheduler(stompTaskScheduler())
-                .setHeartbeatValue(new long[] {10_000, 10_000});
+        if (wsProps.getBroker().getMode() == WebSocketProperties.BrokerMode.RELAY) {
+            // RabbitMQ STOMP는 /topic/a/b 같은 여러 단계 destination을 거부하므로 '.' 구분 (ChatDestinations)
+            registry.setPathMatcher(new AntPathMatcher("."));
+            enableBrokerRelay(registry, wsProps.getBroker());
+        } else {
+            registry.enableSimpleBroker("/queue", "/topic")
+                    .setTaskScheduler(stompTaskScheduler())
+                    .setHeartbeatValue(new long[] {10_000, 10_000});
+        }
         registry.setUserDestinationPrefix("/user");
     }
+
+    /**
+     * 외부 STOMP 브로커 relay. 구독 관리와 fan-out을 브로커가 맡으므로 Redis relay를 거치지 않는다.
+     * 클라이언트 heartbeat는 브로커와 직접 협상됨
+     */
+    private void enableBrokerRelay(MessageBrokerRegistry registry, WebSocketProperties.Broker broker) {
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/queue", "/topic")
+                .setRelayHost(broker.getRelayHost())
+                .setRelayPort(broker.getRelayPort())
+                .setClientLogin(broker.getClientLogin())
+                .setClientPasscode(broker.getClientPasscode())
+                .setSystemLogin(broker.getSystemLogin())
+                .setSystemPasscode(broker.getSystemPasscode())
+                .setSystemHeartbeatSendInterval(broker.getSystemHeartbeatSendInterval())
+                .setSystemHeartbeatReceiveInterval(broker.getSystemHeartbeatReceiveInterval())
+                .setTaskScheduler(stompTaskScheduler());
+        if (broker.getVirtualHost() != null) {
+            relay.setVirtualHost(broker.getVirtualHost());
+        }
+    }
 }
 
 
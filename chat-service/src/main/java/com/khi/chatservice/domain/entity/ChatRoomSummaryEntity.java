@@ -0,0 +1,57 @@
+package com.khi.chatservice.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * (채팅방, 사용자)별 목록 요약. 메시지 전송/읽음 처리 시점에 갱신되어
+ * 채팅방 목록 조회는 메시지 테이블을 보지 않고 이 행만 읽는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "chat_room_summaries", uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "user_id"}))
+public class ChatRoomSummaryEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private ChatRoomEntity room;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "opponent_id")
+    private String opponentId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_content")
+    private String lastMessageContent;
+
+    @Column(name = "last_message_time")
+    private LocalDateTime lastMessageTime;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public void refresh(String opponentId, Long lastMessageId, String lastMessageContent,
+                        LocalDateTime lastMessageTime, Long unreadCount) {
+        this.opponentId = opponentId;
+        this.lastMessageId = lastMessageId;
+        this.lastMessageContent = lastMessageContent;
+        this.lastMessageTime = lastMessageTime;
+        this.unreadCount = unreadCount;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
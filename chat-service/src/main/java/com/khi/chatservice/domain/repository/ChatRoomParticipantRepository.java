@@ -4,6 +4,7 @@ import com.khi.chatservice.domain.entity.ChatRoomParticipantEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +21,11 @@ public interface ChatRoomParticipantRepository
     Optional<ChatRoomParticipantEntity> findByRoomIdAndUserId(Long roomId, String userId);
 
     void deleteByRoomId(Long roomId);
+
+    /**
+     * chat_room_summaries 행이 아직 없는 참여자 (요약 테이블 도입 이전 데이터)
+     */
+    @Query("SELECT p FROM ChatRoomParticipantEntity p WHERE NOT EXISTS (" +
+            "SELECT 1 FROM ChatRoomSummaryEntity s WHERE s.room = p.room AND s.userId = p.userId)")
+    List<ChatRoomParticipantEntity> findWithoutSummary(Pageable pageable);
 }
@@ -1,10 +1,33 @@
 package com.khi.chatservice.domain.repository;
 
 import com.khi.chatservice.domain.entity.ChatRoomEntity;
+import com.khi.chatservice.domain.repository.projection.ChatRoomSummaryProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoomEntity, Long> {
     Optional<ChatRoomEntity> findByRoomUuid(String roomUuid);
+
+    /**
+     * 상대방 id, 마지막 메시지, 안 읽은 메시지 수를 서브쿼리로 한 번에 계산
+     * (마지막 메시지는 sentAt 최신, 같은 시각이면 id 최대)
+     */
+    @Query("SELECT new com.khi.chatservice.domain.repository.projection.ChatRoomSummaryProjection(" +
+            "r.id, " +
+            "(SELECT MIN(op.userId) FROM ChatRoomParticipantEntity op WHERE op.room = r AND op.userId <> :userId), " +
+            "m.id, " +
+            "m.content, " +
+            "m.sentAt, " +
+            "(SELECT COUNT(um) FROM ChatMessageEntity um WHERE um.room = r AND um.senderId <> :userId " +
+            "  AND um.id > COALESCE((SELECT rs.lastReadMessageId FROM ChatRoomReadStatusEntity rs " +
+            "                        WHERE rs.chatRoom = r AND rs.userId = :userId), 0))) " +
+            "FROM ChatRoomEntity r " +
+            "LEFT JOIN ChatMessageEntity m ON m.room = r AND m.id = (" +
+            "  SELECT MAX(m2.id) FROM ChatMessageEntity m2 WHERE m2.room = r AND m2.sentAt = (" +
+            "    SELECT MAX(m3.sentAt) FROM ChatMessageEntity m3 WHERE m3.room = r)) " +
+            "WHERE r.id = :roomId")
+    Optional<ChatRoomSummaryProjection> findRoomSummary(@Param("roomId") Long roomId, @Param("userId") String userId);
 }
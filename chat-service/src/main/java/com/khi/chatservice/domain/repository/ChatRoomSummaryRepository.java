@@ -0,0 +1,97 @@
+package com.khi.chatservice.domain.repository;
+
+import com.khi.chatservice.domain.entity.ChatRoomSummaryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatRoomSummaryRepository extends JpaRepository<ChatRoomSummaryEntity, Long> {
+
+    Page<ChatRoomSummaryEntity> findByUserId(String userId, Pageable pageable);
+
+    List<ChatRoomSummaryEntity> findByRoomId(Long roomId);
+
+    Optional<ChatRoomSummaryEntity> findByRoomIdAndUserId(Long roomId, String userId);
+
+    void deleteByRoomIdAndUserId(Long roomId, String userId);
+
+    @Query("SELECT s.userId FROM ChatRoomSummaryEntity s WHERE s.room.id = :roomId AND s.userId <> :userId")
+    List<String> findUserIdsByRoomIdExcept(@Param("roomId") Long roomId, @Param("userId") String userId);
+
+    @Query("SELECT s.unreadCount FROM ChatRoomSummaryEntity s WHERE s.room.id = :roomId AND s.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("roomId") Long roomId, @Param("userId") String userId);
+
+    /**
+     * 보낸 사람을 제외한 참여자의 안 읽은 수를 1 증가 (Redis 카운터를 쓰지 않을 때. 동시 전송에도 누락 없도록 DB에서 증가)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.unreadCount = s.unreadCount + 1, s.updatedAt = :now " +
+            "WHERE s.room.id = :roomId AND s.userId <> :senderId")
+    int incrementUnread(@Param("roomId") Long roomId,
+                        @Param("senderId") String senderId,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Redis 카운터(원본) 값을 저장. updatedAt은 메시지/읽음 시각이므로 바꾸지 않음
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.unreadCount = :count WHERE s.room.id = :roomId AND s.userId = :userId")
+    int updateUnread(@Param("roomId") Long roomId,
+                     @Param("userId") String userId,
+                     @Param("count") long count);
+
+    /**
+     * 마지막 메시지 갱신. 늦게 커밋된 이전 메시지가 최신 메시지를 덮어쓰지 않도록 시각 비교
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.lastMessageId = :messageId, s.lastMessageContent = :content, " +
+            "s.lastMessageTime = :sentAt, s.updatedAt = :now " +
+            "WHERE s.room.id = :roomId AND (s.lastMessageTime IS NULL OR s.lastMessageTime <= :sentAt)")
+    int updateLastMessage(@Param("roomId") Long roomId,
+                          @Param("messageId") Long messageId,
+                          @Param("content") String content,
+                          @Param("sentAt") LocalDateTime sentAt,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * 마지막 메시지까지 읽은 경우 안 읽은 수를 0으로 (그 사이 새 메시지가 왔으면 갱신하지 않음)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.unreadCount = 0, s.updatedAt = :now " +
+            "WHERE s.room.id = :roomId AND s.userId = :userId " +
+            "AND (s.lastMessageId IS NULL OR s.lastMessageId <= :lastReadMessageId)")
+    int resetUnreadIfCaughtUp(@Param("roomId") Long roomId,
+                              @Param("userId") String userId,
+                              @Param("lastReadMessageId") Long lastReadMessageId,
+                              @Param("now") LocalDateTime now);
+
+    /**
+     * 중간까지만 읽은 경우 읽은 지점 이후 메시지만 다시 센다 (id 범위 조회라 기록 전체를 보지 않음)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.unreadCount = (" +
+            "SELECT COUNT(m) FROM ChatMessageEntity m WHERE m.room.id = :roomId " +
+            "AND m.id > :lastReadMessageId AND m.senderId <> :userId), s.updatedAt = :now " +
+            "WHERE s.room.id = :roomId AND s.userId = :userId")
+    int recountUnread(@Param("roomId") Long roomId,
+                      @Param("userId") String userId,
+                      @Param("lastReadMessageId") Long lastReadMessageId,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.opponentId = :opponentId " +
+            "WHERE s.room.id = :roomId AND s.userId <> :opponentId AND s.opponentId IS NULL")
+    int fillOpponent(@Param("roomId") Long roomId, @Param("opponentId") String opponentId);
+
+    @Modifying
+    @Query("UPDATE ChatRoomSummaryEntity s SET s.opponentId = NULL " +
+            "WHERE s.room.id = :roomId AND s.opponentId = :opponentId")
+    int clearOpponent(@Param("roomId") Long roomId, @Param("opponentId") String opponentId);
+}
@@ -0,0 +1,17 @@
+package com.khi.chatservice.domain.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 요약 값을 메시지/읽음 테이블에서 직접 계산한 결과
+ * chat_room_summaries 행을 처음 만들거나 다시 맞출 때 사용
+ */
+public record ChatRoomSummaryProjection(
+        Long roomId,
+        String opponentId,
+        Long lastMessageId,
+        String lastMessage,
+        LocalDateTime lastMessageTime,
+        Long unreadCount
+) {
+}
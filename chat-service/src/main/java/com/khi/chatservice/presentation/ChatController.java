@@ -76,6 +76,8 @@ import java.util.List;
     ```
 
     ## 구독 토픽 및 수신 이벤트
+    아래는 기본(simple broker) 형식. relay 모드(CHAT_BROKER_MODE=relay, RabbitMQ STOMP)에서는 토픽 뒤 구분자가 '/' 대신 '.'
+    (예: /topic/room.{roomId}, /topic/user-room-updates.{userId})
 
     ### /topic/room/{roomId}
     채팅방 실시간 이벤트 수신
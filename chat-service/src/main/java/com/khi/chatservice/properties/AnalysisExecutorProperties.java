@@ -0,0 +1,15 @@
+package com.khi.chatservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.analysis-executor")
+public class AnalysisExecutorProperties {
+    private int corePoolSize = 2;
+    private int maxPoolSize = 4;
+    private int queueCapacity = 100;
+
+    /** executor가 거절한 분석 요청을 다시 제출하기 전까지 보관할 최대 개수 */
+    private int retryQueueCapacity = 1000;
+}
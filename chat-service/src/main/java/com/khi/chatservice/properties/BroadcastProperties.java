@@ -0,0 +1,22 @@
+package com.khi.chatservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.broadcast")
+public class BroadcastProperties {
+    /** 브로드캐스트 lane 수. 같은 채팅방 이벤트는 항상 같은 lane에서 순서대로 처리됨 */
+    private int lanes = 4;
+
+    /** lane별 대기열 길이 (초과 시 enqueueTimeout 동안 호출 스레드가 대기) */
+    private int queueCapacity = 1000;
+
+    /** 대기열이 가득 찼을 때 호출 스레드가 기다리는 최대 시간. 지나면 이벤트를 버리고 chat.broadcast.dropped 증가 */
+    private Duration enqueueTimeout = Duration.ofMillis(500);
+
+    /** 채팅방별 CHAT_ROOM_UPDATE 디바운스 시간 (0이면 매 메시지마다 전송) */
+    private Duration roomUpdateWindow = Duration.ofMillis(150);
+}
@@ -0,0 +1,54 @@
+package com.khi.chatservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.relay")
+public class RelayProperties {
+    /** pubsub: Redis pub/sub (유실 가능), streams: Redis Streams + 노드별 consumer group (재연결 시 이어서 수신) */
+    private Transport transport = Transport.PUBSUB;
+
+    /**
+     * false면 모든 이벤트를 단일 채널(chat:messages)로 발행/구독
+     * 이전 버전 노드는 shard 채널을 구독하지 않으므로, 모든 노드가 새 버전으로 바뀐 뒤에 켠다.
+     */
+    private boolean sharded = false;
+
+    /** destination 해시로 나눌 채널 수 (chat:messages:{0..shards-1}) */
+    private int shards = 64;
+
+    private String channelPrefix = "chat:messages";
+
+    private Stream stream = new Stream();
+
+    public enum Transport {
+        PUBSUB,
+        STREAMS
+    }
+
+    @Data
+    public static class Stream {
+        private String key = "chat:events";
+
+        /** 스트림 최대 길이 (근사 trimming) */
+        private long maxLen = 10_000;
+
+        /**
+         * consumer group 이름에 쓰이는 노드 id (streams 모드 필수).
+         * 재시작 후에도 같은 값이어야 마지막 위치부터 이어서 읽으므로 StatefulSet pod 이름처럼 고정된 값을 명시한다.
+         */
+        private String nodeId;
+
+        private int batchSize = 100;
+        private Duration pollTimeout = Duration.ofSeconds(2);
+
+        /** 모든 consumer가 이 시간 이상 읽지 않은 다른 노드의 group은 사라진 노드로 보고 삭제 */
+        private Duration groupIdleTimeout = Duration.ofHours(1);
+
+        /** 사라진 노드 group 정리 주기 */
+        private long cleanupIntervalMs = 600_000;
+    }
+}
@@ -0,0 +1,21 @@
+package com.khi.chatservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.unread-counter")
+public class UnreadCounterProperties {
+    /** false면 Redis를 보지 않고 chat_room_summaries의 값만 사용 (메시지마다 DB에서 증가) */
+    private boolean enabled = true;
+    private String keyPrefix = "chat:unread:";
+    private Duration ttl = Duration.ofDays(30);
+
+    /** DB에 아직 저장하지 않은 (roomId, userId) 목록 */
+    private String dirtyKey = "chat:unread-dirty";
+
+    /** 한 번의 저장 주기에 DB에 쓰는 최대 카운터 수 (reconcile-interval-ms마다 실행) */
+    private int reconcileBatchSize = 1000;
+}
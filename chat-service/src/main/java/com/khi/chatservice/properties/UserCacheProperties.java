@@ -0,0 +1,24 @@
+package com.khi.chatservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.user-cache")
+public class UserCacheProperties {
+    private boolean enabled = true;
+
+    /** 인스턴스 로컬 캐시 */
+    private Duration localTtl = Duration.ofMinutes(10);
+    private long localMaxSize = 10_000;
+
+    /** 인스턴스 간 공유 Redis 캐시 */
+    private boolean redisEnabled = true;
+    private String redisKeyPrefix = "chat:user:";
+    private Duration redisTtl = Duration.ofHours(1);
+
+    /** security-service가 프로필 변경 시 userId를 발행하는 채널 */
+    private String invalidationChannel = "user:profile-updated";
+}
@@ -2,9 +2,74 @@ package com.khi.chatservice.properties;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Data
 @ConfigurationProperties(prefix = "tictactalk.websocket")
 public class WebSocketProperties {
     private String endpoint = "/ws-chat";
+
+    private Broker broker = new Broker();
+
+    private Transport transport = new Transport();
+
+    /** 클라이언트 → 서버 메시지 처리 스레드 풀 */
+    private ChannelPool inbound = new ChannelPool();
+
+    /**
+     * 서버 → 클라이언트 전송 스레드 풀.
+     * simple broker는 구독 세션마다 outbound 작업을 하나씩 만들므로 대기열은 노드당 동시 세션 수보다 크게 잡는다.
+     * 그래도 넘치면 해당 프레임은 버려지고 chat.websocket.channel.rejected{channel=outbound}가 증가
+     */
+    private ChannelPool outbound = new ChannelPool();
+
+    public enum BrokerMode {
+        /** JVM 내장 simple broker. 노드 간 전달은 Redis relay 사용 */
+        SIMPLE,
+        /** 외부 STOMP 브로커(RabbitMQ STOMP 등)로 구독 매칭/fan-out 위임 */
+        RELAY
+    }
+
+    @Data
+    public static class Transport {
+        /** 세션 하나에 전송이 이 시간 이상 막혀 있으면 느린 클라이언트로 보고 연결 종료 */
+        private Duration sendTimeLimit = Duration.ofSeconds(5);
+
+        /** 세션별 전송 대기 버퍼 한도 (초과 시 연결 종료) */
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(256);
+
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+    }
+
+    @Data
+    public static class ChannelPool {
+        private int corePoolSize = 8;
+        private int maxPoolSize = 32;
+
+        /** 대기열이 찬 뒤에만 core 이상으로 스레드가 늘어남. 스레드와 대기열이 모두 차면 거부(AbortPolicy) */
+        private int queueCapacity = 1000;
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Broker {
+        private BrokerMode mode = BrokerMode.SIMPLE;
+
+        private String relayHost = "localhost";
+        private int relayPort = 61613;
+        private String virtualHost;
+
+        /** 클라이언트 세션별 브로커 연결에 사용하는 계정 */
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+
+        /** 서버가 브로커로 메시지를 발행하는 공용 system 연결 계정 */
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+
+        private long systemHeartbeatSendInterval = 10_000;
+        private long systemHeartbeatReceiveInterval = 10_000;
+    }
 }
@@ -1,28 +1,69 @@
 package com.khi.chatservice.redis;
 
 import com.khi.chatservice.domain.entity.SocketEventType;
+import com.khi.chatservice.properties.RelayProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RedisPublisher {
 
+    private static final byte[] FRAME_FIELD = RelayStreamConsumer.FRAME_FIELD.getBytes(StandardCharsets.UTF_8);
+
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ChannelTopic chatTopic;
+    private final RelayChannelRouter relayChannelRouter;
+    private final RelayProperties relayProperties;
+    private final RelayFrameCodec relayFrameCodec;
+    private final RedisSubscriber redisSubscriber;
 
     public void publish(SocketEventType eventType, String destination, Object payload) {
-        RedisChatMessage message = RedisChatMessage.builder()
-                .eventType(eventType)
-                .destination(destination)
-                .payload(payload)
-                .build();
-
-        redisTemplate.convertAndSend(chatTopic.getTopic(), message);
-        log.debug("Redis publish - eventType: {}, destination: {}", eventType, destination);
+        if (relayChannelRouter.isBrokerRelay()) {
+            sendToBroker(eventType, destination, payload);
+            return;
+        }
+
+        byte[] frame;
+        try {
+            frame = relayFrameCodec.encode(eventType, destination, payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode relay frame for " + eventType, e);
+        }
+
+        if (relayChannelRouter.isStreams()) {
+            byte[] key = relayChannelRouter.streamKey().getBytes(StandardCharsets.UTF_8);
+            RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                    .maxlen(relayProperties.getStream().getMaxLen())
+                    .approximateTrimming(true);
+            redisTemplate.execute((RedisCallback<RecordId>) connection ->
+                    connection.streamCommands().xAdd(
+                            MapRecord.create(key, Map.of(FRAME_FIELD, frame)), options));
+        } else {
+            byte[] channel = relayChannelRouter.channelFor(destination).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(channel, frame));
+        }
+        log.debug("Redis publish - eventType: {}, destination: {}, bytes: {}", eventType, destination, frame.length);
+    }
+
+    private void sendToBroker(SocketEventType eventType, String destination, Object payload) {
+        byte[] body;
+        try {
+            body = relayFrameCodec.encodeBody(eventType, payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode socket event for " + eventType, e);
+        }
+        redisSubscriber.deliver(destination, body);
+        log.debug("Broker publish - eventType: {}, destination: {}, bytes: {}", eventType, destination, body.length);
     }
 }
@@ -6,8 +6,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
 @Slf4j
 @Component
@@ -15,18 +19,33 @@ public class RedisSubscriber implements MessageListener {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final RelayFrameCodec relayFrameCodec;
 
     public RedisSubscriber(SimpMessagingTemplate messagingTemplate,
-                           @Qualifier("redisObjectMapper") ObjectMapper objectMapper) {
+                           @Qualifier("redisObjectMapper") ObjectMapper objectMapper,
+                           RelayFrameCodec relayFrameCodec) {
         this.messagingTemplate = messagingTemplate;
         this.objectMapper = objectMapper;
+        this.relayFrameCodec = relayFrameCodec;
     }
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
+        handle(message.getBody());
+    }
+
+    /**
+     * pub/sub 메시지와 스트림 레코드 공통 처리
+     */
+    public void handle(byte[] data) {
         try {
-            String body = new String(message.getBody());
-            RedisChatMessage chatMessage = objectMapper.readValue(body, RedisChatMessage.class);
+            if (RelayFrameCodec.isFrame(data)) {
+                forwardFrame(data);
+                return;
+            }
+
+            // 이전 버전 노드가 발행한 JSON 메시지 (배포 전환 중 호환용)
+            RedisChatMessage chatMessage = objectMapper.readValue(data, RedisChatMessage.class);
 
             SocketEvent<?> socketEvent = new SocketEvent<>(
                     chatMessage.getEventType(),
@@ -34,11 +53,27 @@ public class RedisSubscriber implements MessageListener {
             );
 
             messagingTemplate.convertAndSend(chatMessage.getDestination(), socketEvent);
-            log.debug("Redis subscribe - eventType: {}, destination: {}",
+            log.debug("Redis subscribe (legacy) - eventType: {}, destination: {}",
                     chatMessage.getEventType(), chatMessage.getDestination());
 
         } catch (Exception e) {
             log.error("Failed to process Redis message: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * 이미 직렬화된 SocketEvent JSON을 변환 없이 그대로 STOMP 메시지 body로 브로커에 전달
+     */
+    public void deliver(String destination, byte[] body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+    }
+
+    private void forwardFrame(byte[] data) {
+        RelayFrameCodec.Frame frame = relayFrameCodec.decode(data);
+        deliver(frame.destination(), frame.body());
+        log.debug("Redis subscribe - eventType: {}, destination: {}", frame.eventType(), frame.destination());
+    }
 }
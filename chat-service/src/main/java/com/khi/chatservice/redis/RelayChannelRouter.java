@@ -0,0 +1,52 @@
+package com.khi.chatservice.redis;
+
+import com.khi.chatservice.properties.RelayProperties;
+import com.khi.chatservice.properties.WebSocketProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP destination → Redis relay 채널 매핑
+ * 같은 destination은 항상 같은 shard 채널로 발행되며, 노드는 로컬 구독이 있는 shard만 구독한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelayChannelRouter {
+
+    private final RelayProperties props;
+    private final WebSocketProperties wsProps;
+
+    public boolean isSharded() {
+        return !isBrokerRelay() && !isStreams() && props.isSharded() && props.getShards() > 1;
+    }
+
+    /** 외부 STOMP 브로커가 노드 간 전달을 맡는 경우 Redis relay를 사용하지 않음 */
+    public boolean isBrokerRelay() {
+        return wsProps.getBroker().getMode() == WebSocketProperties.BrokerMode.RELAY;
+    }
+
+    public boolean isStreams() {
+        return props.getTransport() == RelayProperties.Transport.STREAMS;
+    }
+
+    public String streamKey() {
+        return props.getStream().getKey();
+    }
+
+    public int shardOf(String destination) {
+        return Math.floorMod(destination.hashCode(), props.getShards());
+    }
+
+    public String channelFor(String destination) {
+        return isSharded() ? shardChannel(shardOf(destination)) : props.getChannelPrefix();
+    }
+
+    public String shardChannel(int shard) {
+        return props.getChannelPrefix() + ":" + shard;
+    }
+
+    /** 샤딩 이전 노드가 발행하는 단일 채널 */
+    public String legacyChannel() {
+        return props.getChannelPrefix();
+    }
+}
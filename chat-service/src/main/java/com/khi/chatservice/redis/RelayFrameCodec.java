@@ -0,0 +1,87 @@
+package com.khi.chatservice.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.chatservice.domain.entity.SocketEventType;
+import com.khi.chatservice.presentation.dto.SocketEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis 채팅 relay 프레임 인코딩
+ *
+ * [0x02 magic][eventType 이름 길이 1B][eventType 이름 ASCII][destination 길이 2B][destination UTF-8][STOMP body]
+ *
+ * body는 클라이언트에 그대로 나갈 SocketEvent JSON으로, 발행하는 노드에서 한 번만 직렬화한다.
+ * 구독 노드는 헤더만 읽고 body 바이트를 STOMP로 그대로 전달하므로 객체 역직렬화/재직렬화가 없다.
+ * eventType은 ordinal 대신 이름으로 기록하므로, enum 상수가 추가/재배치된 버전이 섞여 있어도 잘못 해석되지 않는다.
+ * (모르는 이름이면 eventType은 null이며 body는 그대로 전달)
+ */
+@Component
+public class RelayFrameCodec {
+
+    static final byte MAGIC = 0x02;
+    static final int MAX_DESTINATION_BYTES = 0xFFFF;
+
+    private final ObjectMapper objectMapper;
+
+    public RelayFrameCodec(@Qualifier("redisObjectMapper") ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(SocketEventType eventType, String destination, Object payload) throws JsonProcessingException {
+        byte[] body = encodeBody(eventType, payload);
+        byte[] type = eventType.name().getBytes(StandardCharsets.US_ASCII);
+        byte[] dest = destination.getBytes(StandardCharsets.UTF_8);
+        if (dest.length > MAX_DESTINATION_BYTES) {
+            throw new IllegalArgumentException("relay destination too long: " + dest.length + " bytes");
+        }
+
+        return ByteBuffer.allocate(1 + 1 + type.length + 2 + dest.length + body.length)
+                .put(MAGIC)
+                .put((byte) type.length)
+                .put(type)
+                .putShort((short) dest.length)
+                .put(dest)
+                .put(body)
+                .array();
+    }
+
+    /** 클라이언트에 그대로 나갈 SocketEvent JSON */
+    public byte[] encodeBody(SocketEventType eventType, Object payload) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new SocketEvent<>(eventType, payload));
+    }
+
+    public static boolean isFrame(byte[] data) {
+        return data.length > 4 && data[0] == MAGIC;
+    }
+
+    public Frame decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.get();
+        int typeLength = Byte.toUnsignedInt(buffer.get());
+        String typeName = new String(data, buffer.position(), typeLength, StandardCharsets.US_ASCII);
+        buffer.position(buffer.position() + typeLength);
+        int destLength = Short.toUnsignedInt(buffer.getShort());
+        String destination = new String(data, buffer.position(), destLength, StandardCharsets.UTF_8);
+
+        int bodyOffset = buffer.position() + destLength;
+        byte[] body = new byte[data.length - bodyOffset];
+        System.arraycopy(data, bodyOffset, body, 0, body.length);
+        return new Frame(eventType(typeName), destination, body);
+    }
+
+    private static SocketEventType eventType(String name) {
+        try {
+            return SocketEventType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public record Frame(SocketEventType eventType, String destination, byte[] body) {
+    }
+}
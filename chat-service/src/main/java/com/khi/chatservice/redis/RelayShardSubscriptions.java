@@ -0,0 +1,115 @@
+package com.khi.chatservice.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이 노드의 STOMP 구독을 추적해 필요한 relay shard 채널만 Redis에서 구독
+ * shard별 로컬 구독 수가 0 → 1이 될 때 구독하고, 1 → 0이 될 때 해제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelayShardSubscriptions {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final RedisMessageListenerContainer container;
+    private final RedisSubscriber redisSubscriber;
+    private final RelayChannelRouter router;
+
+    /** sessionId → (subscriptionId → shard) */
+    private final Map<String, Map<String, Integer>> sessions = new HashMap<>();
+    private final Map<Integer, Integer> shardRefCounts = new HashMap<>();
+
+    // 잠금 안에서 Redis 구독 명령을 실행하므로 synchronized 대신 사용 (virtual thread pinning 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (!router.isSharded() || destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        add(accessor.getSessionId(), accessor.getSubscriptionId(), router.shardOf(destination));
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        remove(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    private void add(String sessionId, String subscriptionId, int shard) {
+        lock.lock();
+        try {
+            Integer previous = sessions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, shard);
+            if (previous != null) {
+                release(previous);
+            }
+            if (shardRefCounts.merge(shard, 1, Integer::sum) == 1) {
+                container.addMessageListener(redisSubscriber, new ChannelTopic(router.shardChannel(shard)));
+                log.info("Relay shard subscribed - shard: {}", shard);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String sessionId, String subscriptionId) {
+        lock.lock();
+        try {
+            Map<String, Integer> subscriptions = sessions.get(sessionId);
+            if (subscriptions == null) {
+                return;
+            }
+            Integer shard = subscriptions.remove(subscriptionId);
+            if (shard != null) {
+                release(shard);
+            }
+            if (subscriptions.isEmpty()) {
+                sessions.remove(sessionId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeSession(String sessionId) {
+        lock.lock();
+        try {
+            Map<String, Integer> subscriptions = sessions.remove(sessionId);
+            if (subscriptions != null) {
+                subscriptions.values().forEach(this::release);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(int shard) {
+        Integer remaining = shardRefCounts.computeIfPresent(shard, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            container.removeMessageListener(redisSubscriber, new ChannelTopic(router.shardChannel(shard)));
+            log.info("Relay shard unsubscribed - shard: {}", shard);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.khi.chatservice.redis;
+
+import com.khi.chatservice.properties.RelayProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Streams relay 수신 (tictactalk.relay.transport=streams)
+ * 노드마다 별도 consumer group을 사용하므로 모든 노드가 모든 이벤트를 받는다.
+ * group이 마지막으로 전달한 id를 Redis가 기억하므로, Redis 재연결이나 같은 node-id로 재시작한 뒤에는
+ * 놓친 이벤트부터 이어서 읽는다. (MAXLEN 범위 밖으로 밀려난 이벤트는 복구되지 않음)
+ * 전달은 됐지만 ack 전에 노드가 죽은 이벤트(PEL)는 기동 시 먼저 다시 읽어 처리한 뒤 새 이벤트(>)를 읽는다.
+ * 더 이상 읽지 않는 노드의 group은 주기적으로 삭제해 스트림에 쌓이지 않도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tictactalk.relay", name = "transport", havingValue = "streams")
+public class RelayStreamConsumer {
+
+    public static final String FRAME_FIELD = "f";
+
+    private static final String GROUP_PREFIX = "chat-node:";
+    private static final byte[] FRAME_FIELD_BYTES = FRAME_FIELD.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisSubscriber redisSubscriber;
+    private final RelayProperties relayProperties;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, byte[]>> container;
+
+    @PostConstruct
+    public void start() {
+        RelayProperties.Stream props = relayProperties.getStream();
+        // 기동마다 바뀌는 id면 새 group이 현재 끝($)에서 시작해 재시작 동안의 이벤트를 잃고 이전 group만 쌓임
+        if (!StringUtils.hasText(props.getNodeId())) {
+            throw new IllegalStateException(
+                    "tictactalk.relay.stream.node-id (CHAT_RELAY_NODE_ID) must be set to a stable id in streams mode");
+        }
+        String key = props.getKey();
+        String group = GROUP_PREFIX + props.getNodeId();
+
+        createGroupIfAbsent(key, group);
+        replayPending(key, group, props.getNodeId(), props.getBatchSize());
+
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, byte[]>> options =
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .batchSize(props.getBatchSize())
+                        .pollTimeout(props.getPollTimeout())
+                        .keySerializer(RedisSerializer.string())
+                        .hashKeySerializer(RedisSerializer.string())
+                        .<String, byte[]>hashValueSerializer(RedisSerializer.byteArray())
+                        .errorHandler(e -> log.warn("Redis stream relay read failed: {}", e.getMessage()))
+                        .build();
+
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+
+        StreamMessageListenerContainer.StreamReadRequest<String> request = StreamMessageListenerContainer.StreamReadRequest
+                .builder(StreamOffset.create(key, ReadOffset.lastConsumed()))
+                .consumer(Consumer.from(group, props.getNodeId()))
+                .autoAcknowledge(false)
+                // 연결이 끊겨도 구독을 유지하고, 다시 연결되면 group의 마지막 위치부터 계속 읽음
+                .cancelOnError(e -> false)
+                .build();
+
+        container.register(request, record -> {
+            try {
+                byte[] frame = record.getValue().get(FRAME_FIELD);
+                if (frame != null) {
+                    redisSubscriber.handle(frame);
+                }
+            } finally {
+                stringRedisTemplate.opsForStream().acknowledge(key, group, record.getId());
+            }
+        });
+        container.start();
+
+        log.info("Redis stream relay started - key: {}, group: {}", key, group);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    /**
+     * 사라진 노드의 group 삭제 (XGROUP DESTROY).
+     * 살아 있는 노드는 pollTimeout마다 읽기를 시도해 consumer idle이 계속 초기화되므로,
+     * 모든 consumer의 idle이 groupIdleTimeout을 넘은 group만 지운다. 같은 node-id로 다시 뜨면 group을 새로 만든다.
+     */
+    @Scheduled(fixedDelayString = "${tictactalk.relay.stream.cleanup-interval-ms:600000}")
+    public void cleanupStaleGroups() {
+        RelayProperties.Stream props = relayProperties.getStream();
+        String key = props.getKey();
+        String ownGroup = GROUP_PREFIX + props.getNodeId();
+        long idleLimitMs = props.getGroupIdleTimeout().toMillis();
+
+        try {
+            for (StreamInfo.XInfoGroup group : stringRedisTemplate.opsForStream().groups(key)) {
+                String name = group.groupName();
+                if (!name.startsWith(GROUP_PREFIX) || name.equals(ownGroup) || !isIdle(key, name, idleLimitMs)) {
+                    continue;
+                }
+                stringRedisTemplate.opsForStream().destroyGroup(key, name);
+                log.info("Redis stream relay removed idle group - key: {}, group: {}, pending: {}",
+                        key, name, group.pendingCount());
+            }
+        } catch (Exception e) {
+            log.warn("Redis stream relay group cleanup failed - key: {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * consumer가 없는 group은 막 생성된 직후일 수 있으므로 남겨둔다
+     */
+    private boolean isIdle(String key, String group, long idleLimitMs) {
+        StreamInfo.XInfoConsumers consumers = stringRedisTemplate.opsForStream().consumers(key, group);
+        if (consumers.isEmpty()) {
+            return false;
+        }
+        return consumers.stream().allMatch(consumer -> consumer.idleTimeMs() > idleLimitMs);
+    }
+
+    /**
+     * 이 consumer에게 전달됐지만 ack되지 않은 이벤트를 0부터 읽어 처리.
+     * group 읽기에서 id를 주면 새 이벤트가 아니라 자신의 pending 목록만 돌려주므로, 빈 결과가 나올 때까지 반복한다.
+     */
+    private void replayPending(String key, String group, String consumerName, int batchSize) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        Consumer consumer = Consumer.from(group, consumerName);
+        StreamReadOptions options = StreamReadOptions.empty().count(Math.max(1, batchSize));
+        String lastId = "0";
+        int replayed = 0;
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            while (true) {
+                List<ByteRecord> records = connection.streamCommands()
+                        .xReadGroup(consumer, options, StreamOffset.create(rawKey, ReadOffset.from(lastId)));
+                if (records == null || records.isEmpty()) {
+                    break;
+                }
+                for (ByteRecord record : records) {
+                    try {
+                        byte[] frame = frameOf(record.getValue());
+                        if (frame != null) {
+                            redisSubscriber.handle(frame);
+                        }
+                    } finally {
+                        connection.streamCommands().xAck(rawKey, group, record.getId());
+                    }
+                    lastId = record.getId().getValue();
+                    replayed++;
+                }
+            }
+        }
+        if (replayed > 0) {
+            log.info("Redis stream relay replayed pending events - key: {}, group: {}, count: {}", key, group, replayed);
+        }
+    }
+
+    private static byte[] frameOf(Map<byte[], byte[]> fields) {
+        for (Map.Entry<byte[], byte[]> field : fields.entrySet()) {
+            if (Arrays.equals(field.getKey(), FRAME_FIELD_BYTES)) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 처음 뜨는 노드는 과거 이벤트를 재생하지 않도록 현재 끝($)에서 시작
+     */
+    private void createGroupIfAbsent(String key, String group) {
+        try {
+            stringRedisTemplate.opsForStream().createGroup(key, ReadOffset.latest(), group);
+        } catch (RedisSystemException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.khi.chatservice.redis;
+
+import com.khi.chatservice.properties.UnreadCounterProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방별 안 읽은 메시지 수 Redis 카운터 (원본)
+ * 사용자마다 hash 하나(chat:unread:{userId}, field = roomId)를 두고, 메시지 전송 시 DB 대신 여기서만 증가시킨다.
+ * 바뀐 (roomId, userId)는 dirty set에 모아 UnreadCounterReconciler가 chat_room_summaries에 주기적으로 저장한다.
+ * 값이 없으면(만료, Redis 재시작) DB에 저장된 값을 기준으로 다시 채우며, 그 사이의 증가분은
+ * "{roomId}:pending" 필드에 따로 모았다가 채울 때 더한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCounterStore {
+
+    private static final String PENDING_SUFFIX = ":pending";
+
+    /**
+     * 카운터가 있으면 증가, 없으면 DB 기준값을 모르므로 pending에 모아둠
+     * KEYS[1] = hash, KEYS[2] = dirty set, ARGV = roomId, pending field, ttl, dirty member
+     */
+    private static final byte[] INCREMENT = bytes("""
+            if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then
+              redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            else
+              redis.call('HINCRBY', KEYS[1], ARGV[2], 1)
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            redis.call('SADD', KEYS[2], ARGV[4])
+            return 1
+            """);
+
+    /**
+     * 카운터가 없으면 DB 기준값 + pending으로 채우고 현재 값을 반환
+     * KEYS[1] = hash, ARGV = roomId, pending field, DB 값, ttl
+     */
+    private static final byte[] FILL = bytes("""
+            local current = redis.call('HGET', KEYS[1], ARGV[1])
+            if current then
+              return tonumber(current)
+            end
+            local value = tonumber(ARGV[3]) + tonumber(redis.call('HGET', KEYS[1], ARGV[2]) or '0')
+            redis.call('HSET', KEYS[1], ARGV[1], value)
+            redis.call('HDEL', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            return value
+            """);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UnreadCounterProperties props;
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 수신자들의 카운터를 1씩 증가 (롤백된 메시지는 반영하지 않음)
+     */
+    public void incrementAfterCommit(Long roomId, Collection<String> userIds) {
+        if (!props.isEnabled() || userIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            byte[] field = bytes(String.valueOf(roomId));
+            byte[] pendingField = bytes(roomId + PENDING_SUFFIX);
+            byte[] ttlSeconds = bytes(String.valueOf(props.getTtl().toSeconds()));
+            byte[] dirtyKey = bytes(props.getDirtyKey());
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : userIds) {
+                    connection.scriptingCommands().eval(INCREMENT, ReturnType.INTEGER, 2,
+                            bytes(key(userId)), dirtyKey, field, pendingField, ttlSeconds,
+                            bytes(dirtyMember(roomId, userId)));
+                }
+                return null;
+            });
+        });
+    }
+
+    /**
+     * 커밋 이후 카운터를 DB에서 계산한 값으로 덮어씀 (읽음 처리, 요약 재계산)
+     */
+    public void setAfterCommit(String userId, Long roomId, long count) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> set(userId, roomId, count));
+    }
+
+    public void evictAfterCommit(String userId, Long roomId) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> stringRedisTemplate.opsForHash()
+                .delete(key(userId), String.valueOf(roomId), roomId + PENDING_SUFFIX));
+    }
+
+    /**
+     * 카운터를 주어진 값으로 맞추고 pending은 버림. DB에도 다시 저장되도록 dirty로 표시
+     */
+    public void set(String userId, Long roomId, long count) {
+        try {
+            stringRedisTemplate.opsForHash().put(key(userId), String.valueOf(roomId), String.valueOf(count));
+            stringRedisTemplate.opsForHash().delete(key(userId), roomId + PENDING_SUFFIX);
+            stringRedisTemplate.expire(key(userId), props.getTtl());
+            stringRedisTemplate.opsForSet().add(props.getDirtyKey(), dirtyMember(roomId, userId));
+        } catch (Exception e) {
+            log.warn("Unread counter set failed - userId: {}, roomId: {}, error: {}", userId, roomId, e.getMessage());
+        }
+    }
+
+    /**
+     * 카운터가 없으면 DB에 저장된 값과 pending을 더해 채움
+     *
+     * @return 현재 카운터 값 (Redis를 쓰지 않거나 실패하면 DB 값)
+     */
+    public long fill(String userId, Long roomId, long stored) {
+        if (!props.isEnabled()) {
+            return stored;
+        }
+        try {
+            Long value = stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.scriptingCommands().eval(FILL, ReturnType.INTEGER, 1,
+                            bytes(key(userId)), bytes(String.valueOf(roomId)), bytes(roomId + PENDING_SUFFIX),
+                            bytes(String.valueOf(stored)), bytes(String.valueOf(props.getTtl().toSeconds()))));
+            return value != null ? value : stored;
+        } catch (Exception e) {
+            log.warn("Unread counter fill failed - userId: {}, roomId: {}, error: {}", userId, roomId, e.getMessage());
+            return stored;
+        }
+    }
+
+    /**
+     * 한 사용자의 여러 채팅방 카운터 조회 (HMGET 한 번). Redis에 없는 방은 결과에 포함되지 않음
+     */
+    public Map<Long, Long> get(String userId, List<Long> roomIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (!props.isEnabled() || roomIds.isEmpty()) {
+            return counts;
+        }
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash()
+                    .multiGet(key(userId), roomIds.stream().map(id -> (Object) String.valueOf(id)).toList());
+            for (int i = 0; i < roomIds.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    counts.put(roomIds.get(i), Long.parseLong(value.toString()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Unread counter read failed - userId: {}, error: {}", userId, e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * 한 채팅방의 여러 사용자 카운터 조회 (파이프라인 한 번). Redis에 없는 사용자는 결과에 포함되지 않음
+     */
+    public Map<String, Long> getForRoom(Long roomId, List<String> userIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (!props.isEnabled() || userIds.isEmpty()) {
+            return counts;
+        }
+        try {
+            byte[] field = bytes(String.valueOf(roomId));
+            List<Object> values = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : userIds) {
+                    connection.hashCommands().hGet(bytes(key(userId)), field);
+                }
+                return null;
+            });
+            for (int i = 0; i < userIds.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    counts.put(userIds.get(i), Long.parseLong(value.toString()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Unread counter read failed - roomId: {}, error: {}", roomId, e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * DB에 저장할 (roomId, userId)를 dirty set에서 최대 count개 꺼냄
+     */
+    public List<DirtyCounter> popDirty(int count) {
+        List<String> members = stringRedisTemplate.opsForSet().pop(props.getDirtyKey(), count);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream().map(DirtyCounter::parse).toList();
+    }
+
+    /**
+     * DB 저장에 실패한 항목을 다음 주기에 다시 저장하도록 되돌림
+     */
+    public void markDirty(DirtyCounter counter) {
+        stringRedisTemplate.opsForSet().add(props.getDirtyKey(), dirtyMember(counter.roomId(), counter.userId()));
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("Unread counter update failed: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+
+    private String key(String userId) {
+        return props.getKeyPrefix() + userId;
+    }
+
+    private static String dirtyMember(Long roomId, String userId) {
+        return roomId + ":" + userId;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public record DirtyCounter(Long roomId, String userId) {
+
+        static DirtyCounter parse(String member) {
+            int separator = member.indexOf(':');
+            return new DirtyCounter(Long.parseLong(member.substring(0, separator)), member.substring(separator + 1));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.khi.chatservice.redis;
+
+import com.khi.chatservice.client.CachingUserClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * security-service의 프로필 변경 이벤트(payload = userId)를 받아 사용자 캐시 무효화
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileInvalidationListener implements MessageListener {
+
+    private final CachingUserClient cachingUserClient;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String userId = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        if (!userId.isEmpty()) {
+            cachingUserClient.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.khi.chatservice.util;
+
+import com.khi.chatservice.properties.BroadcastProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 브로드캐스트 전용 비동기 단계
+ * STOMP inbound 스레드는 메시지 저장까지만 하고, 발신자 조회 / 방 요약 계산 / Redis 발행은 여기서 처리한다.
+ * key(roomUuid 등)마다 고정된 단일 스레드 lane을 쓰므로 같은 채팅방의 이벤트 순서가 유지된다.
+ */
+@Slf4j
+@Component
+public class BroadcastDispatcher {
+
+    private final List<ThreadPoolTaskExecutor> lanes = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Counter blocked;
+    private final Counter dropped;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    public BroadcastDispatcher(BroadcastProperties props, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("chat.broadcast.queue.wait").register(meterRegistry);
+        this.blocked = Counter.builder("chat.broadcast.blocked").register(meterRegistry);
+        this.dropped = Counter.builder("chat.broadcast.dropped").register(meterRegistry);
+        long enqueueTimeoutMs = props.getEnqueueTimeout().toMillis();
+
+        int laneCount = Math.max(1, props.getLanes());
+        for (int i = 0; i < laneCount; i++) {
+            ThreadPoolTaskExecutor lane = new ThreadPoolTaskExecutor();
+            lane.setCorePoolSize(1);
+            lane.setMaxPoolSize(1);
+            lane.setQueueCapacity(props.getQueueCapacity());
+            lane.setThreadNamePrefix("chat-broadcast-" + i + "-");
+            // 대기열이 가득 차면 호출 스레드를 잠시 멈춰 유입 속도를 늦춤.
+            // lane 밖에서 실행하면 같은 채팅방 이벤트 순서가 바뀌므로 시간 안에 자리가 나지 않으면 버림
+            lane.setRejectedExecutionHandler((task, executor) -> enqueueOrDrop(task, executor, enqueueTimeoutMs));
+            lane.initialize();
+            lanes.add(lane);
+        }
+        meterRegistry.gauge("chat.broadcast.queue.size", lanes,
+                list -> list.stream().mapToInt(l -> l.getThreadPoolExecutor().getQueue().size()).sum());
+    }
+
+    public void dispatch(String key, String stage, Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        Timer stageTimer = stageTimers.computeIfAbsent(stage, name -> Timer.builder("chat.broadcast.stage")
+                .tag("stage", name)
+                .register(meterRegistry));
+
+        lane(key).execute(() -> {
+            queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Broadcast failed - stage: {}, key: {}", stage, key, e);
+            } finally {
+                stageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void enqueueOrDrop(Runnable task, ThreadPoolExecutor executor, long timeoutMs) {
+        if (!executor.isShutdown()) {
+            blocked.increment();
+            try {
+                if (executor.getQueue().offer(task, timeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        dropped.increment();
+        log.warn("Broadcast lane full - event dropped after waiting {}ms", timeoutMs);
+    }
+
+    private ThreadPoolTaskExecutor lane(String key) {
+        return lanes.get(Math.floorMod(key != null ? key.hashCode() : 0, lanes.size()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+}
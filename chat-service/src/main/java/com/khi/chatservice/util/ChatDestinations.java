@@ -0,0 +1,34 @@
+package com.khi.chatservice.util;
+
+import com.khi.chatservice.properties.WebSocketProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트가 구독하는 topic destination
+ * simple broker는 /topic/room/{roomUuid}처럼 '/'로 구분하지만, relay 모드의 RabbitMQ STOMP는 /topic/ 뒤를
+ * routing key 하나로만 받으므로 '.'으로 구분한다 (/topic/room.{roomUuid}).
+ */
+@Component
+public class ChatDestinations {
+
+    private final String separator;
+
+    public ChatDestinations(WebSocketProperties wsProps) {
+        this.separator = wsProps.getBroker().getMode() == WebSocketProperties.BrokerMode.RELAY ? "." : "/";
+    }
+
+    /** 채팅방 이벤트 (NEW_MESSAGE, MESSAGE_READ, CHAT_END, USER_JOINED) */
+    public String room(String roomUuid) {
+        return "/topic/room" + separator + roomUuid;
+    }
+
+    /** 사용자별 채팅방 목록 갱신 (CHAT_ROOM_UPDATE) */
+    public String userRoomUpdates(String userId) {
+        return "/topic/user-room-updates" + separator + userId;
+    }
+
+    /** 사용자 개인 메시지 */
+    public String userMessages(String userId) {
+        return "/topic/user-messages" + separator + userId;
+    }
+}
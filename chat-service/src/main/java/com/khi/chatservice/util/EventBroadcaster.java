@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,11 +28,19 @@ public class EventBroadcaster {
     private final ChatRoomParticipantRepository partRepo;
     private final ChatService chatService;
     private final UserClient userClient;
+    private final BroadcastDispatcher broadcastDispatcher;
+    private final RoomUpdateCoalescer roomUpdateCoalescer;
+    private final ChatDestinations destinations;
 
     public void broadcastNewMessage(ChatMessageEntity savedMsg, String senderId) {
         Long roomId = savedMsg.getRoom().getId();
         String roomUuid = savedMsg.getRoom().getRoomUuid();
 
+        broadcastDispatcher.dispatch(roomUuid, "new_message",
+                () -> publishNewMessage(savedMsg, senderId, roomId, roomUuid));
+    }
+
+    private void publishNewMessage(ChatMessageEntity savedMsg, String senderId, Long roomId, String roomUuid) {
         UserInfo sender = userClient.getUserInfo(senderId);
         String senderNickname = sender != null ? sender.nickname() : null;
 
@@ -43,23 +52,23 @@ public class EventBroadcaster {
                 savedMsg.getSentAt()
         );
 
+        String topicDestination = destinations.room(roomUuid);
         redisPublisher.publish(
                 SocketEventType.NEW_MESSAGE,
-                "/topic/room/" + roomUuid,
+                topicDestination,
                 dto
         );
-        broadcastChatRoomUpdate(roomId);
-        log.info("broadcast → /topic/room/{}", roomUuid);
+        // 빠르게 연속된 메시지는 채팅방 단위로 묶어 마지막 요약만 참여자에게 전송
+        roomUpdateCoalescer.submit(roomUuid, () ->
+                broadcastDispatcher.dispatch(roomUuid, "room_update", () -> broadcastChatRoomUpdate(roomId)));
+        log.info("broadcast → {}", topicDestination);
     }
 
     public void broadcastChatRoomUpdate(Long roomId) {
-        var participants = partRepo.findByRoomId(roomId);
+        Map<String, ChatRoomListRes.ChatRoomSummary> summaries = chatService.getChatRoomSummaries(roomId);
 
-        participants.forEach(part -> {
-            String uid = String.valueOf(part.getUserId());
-            ChatRoomListRes.ChatRoomSummary summary = chatService.getChatRoomSummary(roomId, uid);
-
-            String topicDestination = "/topic/user-room-updates/" + uid;
+        summaries.forEach((uid, summary) -> {
+            String topicDestination = destinations.userRoomUpdates(uid);
 
             try {
                 redisPublisher.publish(
@@ -77,16 +86,19 @@ public class EventBroadcaster {
     }
 
     public void broadcastMessageRead(String roomUuid, Long lastReadMessageId) {
-        redisPublisher.publish(
-                SocketEventType.MESSAGE_READ,
-                "/topic/room/" + roomUuid,
-                lastReadMessageId
-        );
-        log.info("MESSAGE_READ → /topic/room/{}", roomUuid);
+        broadcastDispatcher.dispatch(roomUuid, "message_read", () -> {
+            String topicDestination = destinations.room(roomUuid);
+            redisPublisher.publish(
+                    SocketEventType.MESSAGE_READ,
+                    topicDestination,
+                    lastReadMessageId
+            );
+            log.info("MESSAGE_READ → {}", topicDestination);
+        });
     }
 
     public void sendMessageToUser(String userId, Object message) {
-        String topicDestination = "/topic/user-messages/" + userId;
+        String topicDestination = destinations.userMessages(userId);
         try {
             redisPublisher.publish(
                     SocketEventType.SEND_MESSAGE,
@@ -100,7 +112,11 @@ public class EventBroadcaster {
     }
 
     public void broadcastChatEndToAll(String roomUuid, String reportId) {
-        String topicDestination = "/topic/room/" + roomUuid;
+        broadcastDispatcher.dispatch(roomUuid, "chat_end", () -> publishChatEnd(roomUuid, reportId));
+    }
+
+    private void publishChatEnd(String roomUuid, String reportId) {
+        String topicDestination = destinations.room(roomUuid);
         try {
             HashMap<String, String> payload = new HashMap<>();
             payload.put("message", "채팅이 종료되었습니다.");
@@ -118,6 +134,10 @@ public class EventBroadcaster {
     }
 
     public void broadcastUserJoined(String roomUuid, String userId) {
+        broadcastDispatcher.dispatch(roomUuid, "user_joined", () -> publishUserJoined(roomUuid, userId));
+    }
+
+    private void publishUserJoined(String roomUuid, String userId) {
         UserInfo joinedUser = userClient.getUserInfo(userId);
         String userNickname = joinedUser != null ? joinedUser.nickname() : "사용자";
 
@@ -137,7 +157,7 @@ public class EventBroadcaster {
                 .participants(participants)
                 .build();
 
-        String topicDestination = "/topic/room/" + roomUuid;
+        String topicDestination = destinations.room(roomUuid);
         try {
             redisPublisher.publish(
                     SocketEventType.USER_JOINED,
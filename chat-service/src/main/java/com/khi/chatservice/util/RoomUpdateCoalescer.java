@@ -0,0 +1,73 @@
+package com.khi.chatservice.util;
+
+import com.khi.chatservice.properties.BroadcastProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CHAT_ROOM_UPDATE 디바운스
+ * 같은 key(채팅방)로 window 안에 들어온 요청은 한 번만 실행하며, 실행 시점의 최신 요약을 계산해 보낸다.
+ * 실행 직전에 key를 비우므로 계산 중 들어온 요청은 다음 window로 넘어가 마지막 상태가 누락되지 않는다.
+ */
+@Slf4j
+@Component
+public class RoomUpdateCoalescer {
+
+    private final Map<String, Runnable> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
+    private final Duration window;
+    private final Counter requested;
+    private final Counter coalesced;
+
+    public RoomUpdateCoalescer(BroadcastProperties props, MeterRegistry meterRegistry) {
+        this.window = props.getRoomUpdateWindow();
+        this.requested = Counter.builder("chat.broadcast.room.update.requested").register(meterRegistry);
+        this.coalesced = Counter.builder("chat.broadcast.room.update.coalesced").register(meterRegistry);
+
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(1);
+        this.scheduler.setThreadNamePrefix("chat-room-update-");
+        this.scheduler.initialize();
+    }
+
+    public void submit(String key, Runnable action) {
+        requested.increment();
+        if (window.isZero() || window.isNegative()) {
+            action.run();
+            return;
+        }
+
+        // 이미 예약된 실행이 있으면 action만 최신으로 교체
+        if (pending.put(key, action) != null) {
+            coalesced.increment();
+            return;
+        }
+        scheduler.schedule(() -> flush(key), Instant.now().plus(window));
+    }
+
+    private void flush(String key) {
+        Runnable action = pending.remove(key);
+        if (action == null) {
+            return;
+        }
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("Room update flush failed - key: {}", key, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,221 @@
+package com.khi.chatservice.config;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 최소 STOMP 1.2 브로커 (RabbitMQ STOMP 대역)
+ * CONNECT / SUBSCRIBE / UNSUBSCRIBE / SEND / DISCONNECT만 처리하며, destination이 정확히 같은 구독에 MESSAGE로 fan-out 한다.
+ * RabbitMQ처럼 /topic/ 뒤에 '/'가 더 있는 destination은 ERROR 후 연결을 끊는다 (wildcard 매칭은 하지 않음).
+ * heartbeat는 0,0으로 협상해 보내지 않는다. 실제 브로커 검증은 RabbitMqStompRelayIntegrationTest
+ */
+class EmbeddedStompBroker implements Closeable {
+
+    record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    private record Subscription(Connection connection, String id, String destination) {
+    }
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final ServerSocket serverSocket;
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final List<Frame> received = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    EmbeddedStompBroker() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("stomp-standin-accept").start(this::acceptLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /** 브로커가 받은 모든 frame (heartbeat 제외) */
+    List<Frame> received() {
+        return List.copyOf(received);
+    }
+
+    long subscriptionCount(String destination) {
+        return subscriptions.stream().filter(s -> s.destination().equals(destination)).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread.ofVirtual().name("stomp-standin-conn").start(connection::readLoop);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void onFrame(Connection connection, Frame frame) throws IOException {
+        received.add(frame);
+        Map<String, String> headers = frame.headers();
+        String destination = headers.get("destination");
+        if (destination != null && destination.startsWith(TOPIC_PREFIX)
+                && destination.indexOf('/', TOPIC_PREFIX.length()) >= 0) {
+            connection.send("ERROR", Map.of("message", "Invalid destination"),
+                    ("'" + destination + "' is not a valid topic destination").getBytes(StandardCharsets.UTF_8));
+            connection.close();
+            return;
+        }
+        switch (frame.command()) {
+            case "CONNECT", "STOMP" -> connection.send("CONNECTED",
+                    Map.of("version", "1.2", "heart-beat", "0,0", "server", "stomp-standin"), new byte[0]);
+            case "SUBSCRIBE" -> subscriptions.add(new Subscription(connection, headers.get("id"), headers.get("destination")));
+            case "UNSUBSCRIBE" -> subscriptions.removeIf(s -> s.connection() == connection && s.id().equals(headers.get("id")));
+            case "SEND" -> {
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.destination().equals(headers.get("destination"))) {
+                        Map<String, String> out = new LinkedHashMap<>();
+                        out.put("subscription", subscription.id());
+                        out.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                        out.put("destination", headers.get("destination"));
+                        if (headers.containsKey("content-type")) {
+                            out.put("content-type", headers.get("content-type"));
+                        }
+                        subscription.connection().send("MESSAGE", out, frame.body());
+                    }
+                }
+            }
+            case "DISCONNECT" -> {
+                if (headers.containsKey("receipt")) {
+                    connection.send("RECEIPT", Map.of("receipt-id", headers.get("receipt")), new byte[0]);
+                }
+                connection.close();
+                return;
+            }
+            default -> {
+            }
+        }
+        if (headers.containsKey("receipt") && !frame.command().equals("DISCONNECT")) {
+            connection.send("RECEIPT", Map.of("receipt-id", headers.get("receipt")), new byte[0]);
+        }
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        void readLoop() {
+            try {
+                Frame frame;
+                while ((frame = readFrame()) != null) {
+                    onFrame(this, frame);
+                }
+            } catch (IOException e) {
+                // 연결 종료
+            } finally {
+                close();
+            }
+        }
+
+        synchronized void send(String command, Map<String, String> headers, byte[] body) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            frame.writeBytes((command + "\n").getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                frame.writeBytes((header.getKey() + ":" + header.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            frame.writeBytes(("content-length:" + body.length + "\n\n").getBytes(StandardCharsets.UTF_8));
+            frame.writeBytes(body);
+            frame.write(0);
+            out.write(frame.toByteArray());
+            out.flush();
+        }
+
+        void close() {
+            subscriptions.removeIf(s -> s.connection() == this);
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫힘
+            }
+        }
+
+        private Frame readFrame() throws IOException {
+            String command;
+            do {
+                command = readLine();
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty()); // heartbeat (EOL)
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while ((line = readLine()) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                // STOMP 1.2: 같은 header가 반복되면 첫 값을 사용
+                headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+            }
+
+            byte[] body;
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body = in.readNBytes(Integer.parseInt(contentLength));
+                if (in.read() != 0) {
+                    throw new IOException("frame not terminated by NUL");
+                }
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                int b;
+                while ((b = in.read()) > 0) {
+                    buffer.write(b);
+                }
+                body = buffer.toByteArray();
+            }
+            return new Frame(command, headers, body);
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    byte[] bytes = line.toByteArray();
+                    int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            return null;
+        }
+    }
+}
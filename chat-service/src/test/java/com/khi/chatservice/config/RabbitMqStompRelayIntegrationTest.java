@@ -0,0 +1,42 @@
+package com.khi.chatservice.config;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+/**
+ * broker.mode=relay 통합 테스트 (실제 RabbitMQ STOMP)
+ * EmbeddedStompBroker는 destination을 정확히 비교만 하므로, RabbitMQ가 실제로 받아들이는 destination 형식과
+ * topic exchange 라우팅은 여기서 확인한다. Docker가 없으면 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RabbitMqStompRelayIntegrationTest extends StompBrokerRelayTestSupport {
+
+    private static final int STOMP_PORT = 61613;
+
+    // guest 계정은 loopback 연결만 허용하므로 별도 계정 사용
+    @Container
+    static final GenericContainer<?> RABBITMQ = new GenericContainer<>("rabbitmq:3.13-alpine")
+            .withCopyToContainer(Transferable.of("[rabbitmq_stomp]."), "/etc/rabbitmq/enabled_plugins")
+            .withEnv("RABBITMQ_DEFAULT_USER", "chat")
+            .withEnv("RABBITMQ_DEFAULT_PASS", "chat")
+            .withExposedPorts(STOMP_PORT)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) {
+        registry.add("tictactalk.websocket.broker.relay-host", RABBITMQ::getHost);
+        registry.add("tictactalk.websocket.broker.relay-port", () -> RABBITMQ.getMappedPort(STOMP_PORT));
+        registry.add("tictactalk.websocket.broker.client-login", () -> "chat");
+        registry.add("tictactalk.websocket.broker.client-passcode", () -> "chat");
+        registry.add("tictactalk.websocket.broker.system-login", () -> "chat");
+        registry.add("tictactalk.websocket.broker.system-passcode", () -> "chat");
+    }
+}
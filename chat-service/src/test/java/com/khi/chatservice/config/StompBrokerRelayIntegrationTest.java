@@ -0,0 +1,67 @@
+package com.khi.chatservice.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * broker.mode=relay 통합 테스트 ({@link EmbeddedStompBroker} 대역)
+ * 구독이 앱 노드가 아니라 브로커에 등록되고, 서버 발행이 브로커로 한 번만 나가는지 확인한다.
+ * 같은 시나리오를 실제 RabbitMQ에 돌리는 건 RabbitMqStompRelayIntegrationTest
+ */
+class StompBrokerRelayIntegrationTest extends StompBrokerRelayTestSupport {
+
+    private static final EmbeddedStompBroker BROKER = startBroker();
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) {
+        registry.add("tictactalk.websocket.broker.relay-host", () -> "127.0.0.1");
+        registry.add("tictactalk.websocket.broker.relay-port", BROKER::port);
+    }
+
+    @AfterAll
+    static void stopBroker() throws IOException {
+        BROKER.close();
+    }
+
+    @Test
+    void subscriptionsLiveInBrokerAndServerPublishesOnce() throws Exception {
+        String room = destinations.room("publish-once");
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        subscribe(connect("e"), room, received);
+        assertThat(BROKER.subscriptionCount(room)).isEqualTo(1);
+
+        messagingTemplate.convertAndSend(room, "hello");
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("hello");
+
+        // 클라이언트 세션마다 브로커 연결이 열리고, 서버 발행은 system 연결의 SEND 한 번으로 나감
+        List<EmbeddedStompBroker.Frame> frames = BROKER.received();
+        assertThat(frames).filteredOn(f -> f.command().equals("CONNECT")).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(frames).filteredOn(f -> f.command().equals("SEND")
+                && room.equals(f.headers().get("destination"))).hasSize(1);
+    }
+
+    @Test
+    void relayDestinationsAreSingleSegment() {
+        assertThat(destinations.room(ROOM)).isEqualTo("/topic/room." + ROOM);
+        assertThat(destinations.userRoomUpdates("42")).isEqualTo("/topic/user-room-updates.42");
+        assertThat(destinations.userMessages("42")).isEqualTo("/topic/user-messages.42");
+    }
+
+    private static EmbeddedStompBroker startBroker() {
+        try {
+            return new EmbeddedStompBroker();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.khi.chatservice.config;
+
+import com.khi.chatservice.client.UserClient;
+import com.khi.chatservice.client.dto.UserInfo;
+import com.khi.chatservice.interceptor.JwtChannelInterceptor;
+import com.khi.chatservice.util.ChatDestinations;
+import com.khi.chatservice.util.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * broker.mode=relay 통합 테스트 공통부
+ * chat-service의 WebSocket/STOMP 설정을 그대로 띄우고, 하위 클래스가 외부 브로커 주소를 넣는다.
+ * 구독은 브로커 RECEIPT까지 기다린 뒤 발행하므로 브로커 종류와 상관없이 같은 시나리오를 돌린다.
+ */
+@SpringBootTest(
+        classes = StompBrokerRelayTestSupport.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "tictactalk.websocket.broker.mode=relay",
+                "tictactalk.websocket.broker.virtual-host=/",
+                "tictactalk.websocket.broker.system-heartbeat-send-interval=0",
+                "tictactalk.websocket.broker.system-heartbeat-receive-interval=0"
+        })
+abstract class StompBrokerRelayTestSupport {
+
+    static final String ROOM = "relay-test";
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    @Import({WebSocketConfig.class, JwtChannelInterceptor.class, ChatDestinations.class})
+    static class TestApp {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private UserClient userClient;
+
+    @MockitoBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    ChatDestinations destinations;
+
+    @LocalServerPort
+    private int port;
+
+    private final List<StompSession> sessions = new ArrayList<>();
+    private WebSocketStompClient stompClient;
+    private ThreadPoolTaskScheduler receiptScheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtTokenProvider.getUserIdFromToken(anyString())).thenAnswer(inv -> "user-" + inv.getArgument(0));
+        when(userClient.getUserInfo(anyString())).thenAnswer(inv -> UserInfo.builder()
+                .userId(inv.getArgument(0))
+                .nickname("nick")
+                .build());
+        receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.setThreadNamePrefix("stomp-receipt-");
+        receiptScheduler.initialize();
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        stompClient.setTaskScheduler(receiptScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+        receiptScheduler.shutdown();
+    }
+
+    @Test
+    void roomEventsFanOutThroughTheBroker() throws Exception {
+        String room = destinations.room(ROOM);
+        BlockingQueue<String> first = new LinkedBlockingQueue<>();
+        BlockingQueue<String> second = new LinkedBlockingQueue<>();
+        subscribe(connect("a"), room, first);
+        subscribe(connect("b"), room, second);
+
+        messagingTemplate.convertAndSend(room, "{\"type\":\"NEW_MESSAGE\",\"content\":\"안녕\"}");
+
+        assertThat(first.poll(10, TimeUnit.SECONDS)).isEqualTo("{\"type\":\"NEW_MESSAGE\",\"content\":\"안녕\"}");
+        assertThat(second.poll(10, TimeUnit.SECONDS)).isEqualTo("{\"type\":\"NEW_MESSAGE\",\"content\":\"안녕\"}");
+    }
+
+    @Test
+    void otherRoomsAreNotDelivered() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        subscribe(connect("c"), destinations.room("other"), received);
+
+        messagingTemplate.convertAndSend(destinations.room(ROOM), "not for you");
+        messagingTemplate.convertAndSend(destinations.room("other"), "for you");
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("for you");
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void userTopicsAreDelivered() throws Exception {
+        BlockingQueue<String> roomUpdates = new LinkedBlockingQueue<>();
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        StompSession session = connect("d");
+        subscribe(session, destinations.userRoomUpdates("user-d"), roomUpdates);
+        subscribe(session, destinations.userMessages("user-d"), messages);
+
+        messagingTemplate.convertAndSend(destinations.userRoomUpdates("user-d"), "room update");
+        messagingTemplate.convertAndSend(destinations.userMessages("user-d"), "message");
+
+        assertThat(roomUpdates.poll(10, TimeUnit.SECONDS)).isEqualTo("room update");
+        assertThat(messages.poll(10, TimeUnit.SECONDS)).isEqualTo("message");
+    }
+
+    StompSession connect(String token) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        StompSession session = stompClient
+                .connectAsync("ws://localhost:" + port + "/ws-chat", new WebSocketHttpHeaders(), connectHeaders,
+                        new StompSessionHandlerAdapter() {
+                        })
+                .get(10, TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+        sessions.add(session);
+        return session;
+    }
+
+    /**
+     * 브로커가 SUBSCRIBE에 RECEIPT를 돌려줄 때까지 대기 (구독 등록 전 발행한 메시지는 브로커가 버림)
+     */
+    static void subscribe(StompSession session, String destination, BlockingQueue<String> sink)
+            throws InterruptedException {
+        CountDownLatch receipt = new CountDownLatch(1);
+        StompSession.Subscription subscription = session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                sink.add((String) payload);
+            }
+        });
+        subscription.addReceiptTask(receipt::countDown);
+        assertThat(receipt.await(10, TimeUnit.SECONDS)).as("receipt for %s", destination).isTrue();
+    }
+}
@@ -0,0 +1,136 @@
+package com.khi.chatservice.config;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * virtual thread 모드의 고정 메모리 대비 동시성 비교
+ * Feign/JDBC 호출처럼 스레드를 막는 작업을 기준으로
+ * (1) 대기 중인 스레드 하나가 차지하는 메모리 (platform: 예약 stack, virtual: heap에 놓인 stack chunk)
+ * (2) 같은 메모리 예산 안에서 동시에 막혀 있을 수 있는 요청 수
+ * (3) Tomcat 기본 max-threads(200) pool과 virtual thread의 blocking 작업 처리 시간
+ * 을 측정해 로그로 남긴다. 실행 시간과 GC 결과에 의존하므로 기본 test에서는 제외 (gradle benchmark로 실행)
+ */
+@Tag("benchmark")
+class VirtualThreadConcurrencyBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConcurrencyBenchmarkTest.class);
+
+    private static final int PARKED_VIRTUAL_THREADS = 10_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private static final int BLOCKING_TASKS = 2_000;
+    private static final long BLOCKING_MILLIS = 50;
+
+    @Test
+    void virtualThreadsHoldMoreBlockedRequestsInSameMemory() throws Exception {
+        long platformStackBytes = platformStackBytes();
+        long virtualBytes = heapPerParkedVirtualThread();
+
+        long platformAtBudget = MEMORY_BUDGET / platformStackBytes;
+        long virtualAtBudget = MEMORY_BUDGET / Math.max(1, virtualBytes);
+
+        long platformMillis = runBlocking(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        long virtualMillis = runBlocking(Executors.newVirtualThreadPerTaskExecutor());
+
+        log.info(String.format("[bench] memory per blocked thread - platform stack: %,d B, parked virtual thread heap: %,d B",
+                platformStackBytes, virtualBytes));
+        log.info(String.format("[bench] blocked requests within %d MB - platform: %,d, virtual: %,d (x%d)",
+                MEMORY_BUDGET / (1024 * 1024), platformAtBudget, virtualAtBudget, virtualAtBudget / Math.max(1, platformAtBudget)));
+        log.info(String.format("[bench] %,d tasks blocking %d ms - platform pool(%d): %,d ms, virtual: %,d ms",
+                BLOCKING_TASKS, BLOCKING_MILLIS, TOMCAT_MAX_THREADS, platformMillis, virtualMillis));
+
+        assertThat(virtualBytes).isLessThan(platformStackBytes);
+        assertThat(virtualAtBudget).isGreaterThan(platformAtBudget * 10);
+        assertThat(virtualMillis).isLessThan(platformMillis);
+    }
+
+    /**
+     * platform thread 하나가 예약하는 stack 크기 (-Xss / ThreadStackSize, KB 단위)
+     */
+    private static long platformStackBytes() {
+        HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        long kb = Long.parseLong(hotspot.getVMOption("ThreadStackSize").getValue());
+        // 0이면 플랫폼 기본값 (Linux x64 JVM 기본 1MB)
+        return (kb > 0 ? kb : 1024) * 1024;
+    }
+
+    /**
+     * blocking 호출 중(park) 상태의 virtual thread를 여러 개 띄워 GC 후 heap 증가량으로 1개당 크기를 구함
+     */
+    private static long heapPerParkedVirtualThread() throws Exception {
+        CountDownLatch started = new CountDownLatch(PARKED_VIRTUAL_THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(PARKED_VIRTUAL_THREADS);
+
+        long before = liveHeap();
+        try {
+            for (int i = 0; i < PARKED_VIRTUAL_THREADS; i++) {
+                threads.add(Thread.ofVirtual().start(() -> blockedCall(started, release)));
+            }
+            assertThat(started.await(30, TimeUnit.SECONDS)).isTrue();
+            long after = liveHeap();
+            return Math.max(0, after - before) / PARKED_VIRTUAL_THREADS;
+        } finally {
+            release.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+
+    /** 원격 호출 대기처럼 몇 단계 호출 stack을 쌓은 뒤 막힘 */
+    private static void blockedCall(CountDownLatch started, CountDownLatch release) {
+        nested(8, started, release);
+    }
+
+    private static void nested(int depth, CountDownLatch started, CountDownLatch release) {
+        if (depth > 0) {
+            nested(depth - 1, started, release);
+            return;
+        }
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long runBlocking(ExecutorService executor) throws Exception {
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> futures = new ArrayList<>(BLOCKING_TASKS);
+            for (int i = 0; i < BLOCKING_TASKS; i++) {
+                futures.add(executor.submit(() -> {
+                    Thread.sleep(BLOCKING_MILLIS);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
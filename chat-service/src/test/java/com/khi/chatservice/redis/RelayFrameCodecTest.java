@@ -0,0 +1,79 @@
+package com.khi.chatservice.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.chatservice.domain.entity.SocketEventType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RelayFrameCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RelayFrameCodec codec = new RelayFrameCodec(objectMapper);
+
+    @Test
+    void roundTripKeepsEventTypeDestinationAndBody() throws Exception {
+        for (SocketEventType type : SocketEventType.values()) {
+            String destination = "/topic/room/방-" + type.name().toLowerCase();
+            Map<String, Object> payload = Map.of("roomId", "r-1", "message", "안녕하세요");
+
+            byte[] frame = codec.encode(type, destination, payload);
+            RelayFrameCodec.Frame decoded = codec.decode(frame);
+
+            assertThat(RelayFrameCodec.isFrame(frame)).isTrue();
+            assertThat(decoded.eventType()).isEqualTo(type);
+            assertThat(decoded.destination()).isEqualTo(destination);
+            assertThat(decoded.body()).isEqualTo(codec.encodeBody(type, payload));
+
+            JsonNode body = objectMapper.readTree(decoded.body());
+            assertThat(body.path("type").asText()).isEqualTo(type.name());
+            assertThat(body.path("content").path("message").asText()).isEqualTo("안녕하세요");
+        }
+    }
+
+    @Test
+    void unknownEventTypeStillDeliversBody() throws Exception {
+        byte[] frame = codec.encode(SocketEventType.NEW_MESSAGE, "/topic/room/1", Map.of("k", "v"));
+        // 이름 자리를 같은 길이의 모르는 이름으로 바꿈 (새 버전 노드가 추가한 타입을 흉내)
+        byte[] renamed = "X".repeat(SocketEventType.NEW_MESSAGE.name().length()).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(renamed, 0, frame, 2, renamed.length);
+
+        RelayFrameCodec.Frame decoded = codec.decode(frame);
+
+        assertThat(decoded.eventType()).isNull();
+        assertThat(decoded.destination()).isEqualTo("/topic/room/1");
+        assertThat(objectMapper.readTree(decoded.body()).path("content").path("k").asText()).isEqualTo("v");
+    }
+
+    @Test
+    void destinationAtLimitIsEncoded() throws Exception {
+        String destination = "d".repeat(RelayFrameCodec.MAX_DESTINATION_BYTES);
+
+        RelayFrameCodec.Frame decoded = codec.decode(codec.encode(SocketEventType.CHAT_END, destination, "x"));
+
+        assertThat(decoded.destination()).isEqualTo(destination);
+    }
+
+    @Test
+    void destinationOverLimitIsRejected() {
+        // 한글 1글자 = UTF-8 3바이트. 문자 수가 아니라 바이트 수로 제한되어야 함
+        String destination = "방".repeat(RelayFrameCodec.MAX_DESTINATION_BYTES / 3 + 1);
+
+        assertThatThrownBy(() -> codec.encode(SocketEventType.NEW_MESSAGE, destination, "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void plainJsonIsNotFrame() {
+        byte[] json = "{\"type\":\"NEW_MESSAGE\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(RelayFrameCodec.isFrame(json)).isFalse();
+        assertThat(RelayFrameCodec.isFrame(Arrays.copyOf(new byte[]{RelayFrameCodec.MAGIC}, 3))).isFalse();
+    }
+}
@@ -0,0 +1,37 @@
+package com.khi.ragservice.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최대 크기가 정해진 in-process LRU 캐시 (thread-safe)
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> map;
+
+    public LruCache(int maxEntries) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+}
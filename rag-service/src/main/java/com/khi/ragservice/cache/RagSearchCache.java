@@ -0,0 +1,247 @@
+package com.khi.ragservice.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.ragservice.properties.RagProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 반복되는 채팅 발화("ㅋㅋ", "응", "아니" 등)에 대한 임베딩 / top-K 검색 결과 캐시
+ * 1차: in-process LRU, 2차(선택): Redis (tictactalk.rag.cache.redis-enabled=true)
+ * 키는 정규화된 메시지 텍스트이며, 검색 결과 키에는 K 값이 함께 포함된다.
+ */
+@Slf4j
+@Component
+public class RagSearchCache {
+
+    private static final TypeReference<List<Map<String, Object>>> RESULT_TYPE = new TypeReference<>() {
+    };
+
+    private final RagProperties.Cache props;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+
+    /** 검색 결과 키 앞에 붙는 데이터셋 버전. 다시 적재되면 바뀌어 이전 결과(Redis 포함)를 더 이상 조회하지 않음 */
+    private volatile String datasetVersion = "";
+
+    private final LruCache<String, float[]> embeddingCache;
+    private final LruCache<String, List<Map<String, Object>>> resultCache;
+
+    private final Counter embeddingLocalHit;
+    private final Counter embeddingRedisHit;
+    private final Counter embeddingMiss;
+    private final Counter resultLocalHit;
+    private final Counter resultRedisHit;
+    private final Counter resultMiss;
+
+    public RagSearchCache(RagProperties ragProperties,
+                          ObjectMapper objectMapper,
+                          ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                          MeterRegistry meterRegistry) {
+        this.props = ragProperties.getCache();
+        this.objectMapper = objectMapper;
+        this.redisTemplate = props.isRedisEnabled() ? redisTemplateProvider.getIfAvailable() : null;
+        this.embeddingCache = new LruCache<>(props.getEmbeddingMaxEntries());
+        this.resultCache = new LruCache<>(props.getResultMaxEntries());
+
+        this.embeddingLocalHit = lookupCounter(meterRegistry, "embedding", "local", "hit");
+        this.embeddingRedisHit = lookupCounter(meterRegistry, "embedding", "redis", "hit");
+        this.embeddingMiss = lookupCounter(meterRegistry, "embedding", "none", "miss");
+        this.resultLocalHit = lookupCounter(meterRegistry, "result", "local", "hit");
+        this.resultRedisHit = lookupCounter(meterRegistry, "result", "redis", "hit");
+        this.resultMiss = lookupCounter(meterRegistry, "result", "none", "miss");
+        meterRegistry.gauge("rag.cache.size", Tags.of("cache", "embedding"),
+                embeddingCache, LruCache::size);
+        meterRegistry.gauge("rag.cache.size", Tags.of("cache", "result"),
+                resultCache, LruCache::size);
+
+        log.info("[RAG][CACHE] enabled={}, embeddingMax={}, resultMax={}, redis={}",
+                props.isEnabled(), props.getEmbeddingMaxEntries(), props.getResultMaxEntries(),
+                redisTemplate != null);
+    }
+
+    /**
+     * 캐시 키로 사용할 정규화 텍스트 (NFC, 공백 정리, 소문자)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return nfc.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public float[] getEmbedding(String key) {
+        if (!props.isEnabled()) {
+            return null;
+        }
+        float[] local = embeddingCache.get(key);
+        if (local != null) {
+            embeddingLocalHit.increment();
+            return local;
+        }
+        String remote = redisGet("emb:" + key);
+        if (remote != null) {
+            float[] decoded = decodeEmbedding(remote);
+            embeddingCache.put(key, decoded);
+            embeddingRedisHit.increment();
+            return decoded;
+        }
+        embeddingMiss.increment();
+        return null;
+    }
+
+    public void putEmbedding(String key, float[] embedding) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        embeddingCache.put(key, embedding);
+        redisSet("emb:" + key, encodeEmbedding(embedding));
+    }
+
+    public List<Map<String, Object>> getResult(String key, int k) {
+        if (!props.isEnabled()) {
+            return null;
+        }
+        String resultKey = resultKey(key, k);
+        List<Map<String, Object>> local = resultCache.get(resultKey);
+        if (local != null) {
+            resultLocalHit.increment();
+            return local;
+        }
+        String remote = redisGet("res:" + resultKey);
+        if (remote != null) {
+            try {
+                List<Map<String, Object>> decoded = freeze(objectMapper.readValue(remote, RESULT_TYPE));
+                resultCache.put(resultKey, decoded);
+                resultRedisHit.increment();
+                return decoded;
+            } catch (Exception e) {
+                log.warn("[RAG][CACHE] result decode failed: {}", e.toString());
+            }
+        }
+        resultMiss.increment();
+        return null;
+    }
+
+    public void putResult(String key, int k, List<Map<String, Object>> items) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        String resultKey = resultKey(key, k);
+        resultCache.put(resultKey, freeze(items));
+        if (redisTemplate != null) {
+            try {
+                redisSet("res:" + resultKey, objectMapper.writeValueAsString(items));
+            } catch (Exception e) {
+                log.warn("[RAG][CACHE] result encode failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * 데이터셋이 다시 적재되면 검색 결과가 바뀌므로 결과 키의 버전을 바꾸고 로컬 결과 캐시를 비운다.
+     * 이전 버전의 Redis 항목은 더 이상 조회되지 않고 TTL로 만료된다. 임베딩은 데이터셋과 무관하므로 유지
+     *
+     * @param fingerprint 적용된 데이터셋 fingerprint (모르면 null)
+     */
+    public void onDatasetChanged(String fingerprint) {
+        String version = fingerprint == null || fingerprint.isBlank() ? "" : shortHash(fingerprint) + ":";
+        if (version.equals(datasetVersion)) {
+            return;
+        }
+        datasetVersion = version;
+        resultCache.clear();
+        log.info("[RAG][CACHE] dataset changed -> result cache version '{}'", version);
+    }
+
+    private String resultKey(String key, int k) {
+        return datasetVersion + k + ":" + key;
+    }
+
+    /**
+     * 캐시된 결과는 여러 보고서가 함께 참조하므로 수정할 수 없는 복사본으로 보관
+     */
+    private static List<Map<String, Object>> freeze(List<Map<String, Object>> items) {
+        List<Map<String, Object>> copy = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            // 값에 null이 있을 수 있으므로 Map.copyOf 대신 순서를 유지하는 unmodifiable view 사용
+            copy.add(Collections.unmodifiableMap(new LinkedHashMap<>(item)));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static String shortHash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String redisGet(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            return redisTemplate.opsForValue().get(props.getRedisKeyPrefix() + key);
+        } catch (Exception e) {
+            log.warn("[RAG][CACHE] redis get failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    private void redisSet(String key, String value) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(props.getRedisKeyPrefix() + key, value, props.getRedisTtl());
+        } catch (Exception e) {
+            log.warn("[RAG][CACHE] redis set failed: {}", e.toString());
+        }
+    }
+
+    private static String encodeEmbedding(float[] embedding) {
+        ByteBuffer buf = ByteBuffer.allocate(embedding.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(embedding);
+        return Base64.getEncoder().encodeToString(buf.array());
+    }
+
+    private static float[] decodeEmbedding(String encoded) {
+        ByteBuffer buf = ByteBuffer.wrap(Base64.getDecoder().decode(encoded)).order(ByteOrder.LITTLE_ENDIAN);
+        float[] embedding = new float[buf.remaining() / Float.BYTES];
+        buf.asFloatBuffer().get(embedding);
+        return embedding;
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String cache, String tier, String result) {
+        return Counter.builder("rag.cache.lookups")
+                .tag("cache", cache)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.khi.ragservice.config;
+
+import com.khi.ragservice.properties.RagProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableConfigurationProperties(RagProperties.class)
+public class RagConfig {
+
+    /**
+     * GPT map-reduce의 구간별 map 호출 전용 executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor gptMapExecutor(RagProperties ragProperties, Environment environment) {
+        RagProperties.Gpt props = ragProperties.getGpt();
+        int concurrency = Math.max(1, props.getMapConcurrency());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(props.getMapQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("gpt-map-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 보고서 분석 작업 전용 bounded executor
+     * ReportJobWorker가 여유 슬롯만큼만 작업을 가져와 실행하며, 그래도 거절되면 작업을 대기열로 되돌린다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ragAnalysisExecutor(RagProperties ragProperties, Environment environment) {
+        RagProperties.Analysis props = ragProperties.getAnalysis();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getCorePoolSize());
+        executor.setMaxPoolSize(Math.max(props.getCorePoolSize(), props.getMaxPoolSize()));
+        executor.setQueueCapacity(props.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setThreadNamePrefix("rag-analysis-");
+        // virtual thread 모드에서도 동시 분석 수는 pool 크기로 제한됨 (ReportJobWorker 슬롯 계산 유지)
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.initialize();
+        return executor;
+    }
+}
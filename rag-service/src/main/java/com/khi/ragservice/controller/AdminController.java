@@ -0,0 +1,37 @@
+package com.khi.ragservice.controller;
+
+import com.khi.ragservice.common.api.ApiResponse;
+import com.khi.ragservice.dto.AnalysisExecutorStatusDto;
+import com.khi.ragservice.enums.ReportJobStatus;
+import com.khi.ragservice.service.AnalysisJobTracker;
+import com.khi.ragservice.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "Admin API", description = "RAG 분석 작업 운영 상태 조회 (프론트 사용 X)")
+@RestController
+@RequestMapping("/rag/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final AnalysisJobTracker analysisJobTracker;
+    private final ReportJobService reportJobService;
+
+    @Operation(summary = "분석 작업 현황 조회", description = "보고서 분석 executor의 실행 중 / 대기 중 작업과 대기열 상태를 조회.")
+    @GetMapping("/analysis-jobs")
+    public ApiResponse<AnalysisExecutorStatusDto> getAnalysisJobs() {
+        return ApiResponse.success(analysisJobTracker.snapshot());
+    }
+
+    @Operation(summary = "보고서 작업 대기열 현황 조회", description = "report_jobs 테이블의 상태별 작업 수를 조회. 모든 rag-service 인스턴스가 공유하는 대기열 기준.")
+    @GetMapping("/report-jobs")
+    public ApiResponse<Map<ReportJobStatus, Long>> getReportJobCounts() {
+        return ApiResponse.success(reportJobService.countByStatus());
+    }
+}
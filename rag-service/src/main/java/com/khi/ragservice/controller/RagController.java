@@ -4,6 +4,7 @@ import com.khi.ragservice.dto.ChatRagRequestDto;
 import com.khi.ragservice.dto.InitializeReportRequestDto;
 import com.khi.ragservice.dto.RagRequestDto;
 import com.khi.ragservice.service.RagService;
+import com.khi.ragservice.service.ReportJobService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class RagController {
 
     private final RagService ragService;
+    private final ReportJobService reportJobService;
 
     @Operation(summary = "빈 보고서 초기화 (Voice-Service 전용)", description = "클라이언트로부터 대화 분석 요청을 받자마자 호출받아 PENDING 상태의 빈 보고서를 생성. 사용자가 즉시 '생성 중' 상태를 볼 수 있도록 함.")
     @PostMapping("/feign/initialize")
@@ -51,7 +53,7 @@ public class RagController {
         // 1. PENDING 보고서를 먼저 동기적으로 생성 (프론트에서 즉시 조회 가능)
         ragService.createPendingChatReportSync(requestDto);
 
-        // 2. 비동기로 RAG 분석 시작
-        ragService.analyzeConversationWithReportIdAsync(requestDto);
+        // 2. 분석 작업을 대기열(report_jobs)에 등록 - ReportJobWorker가 가져가 처리
+        reportJobService.enqueue(requestDto);
     }
 }
\ No newline at end of file
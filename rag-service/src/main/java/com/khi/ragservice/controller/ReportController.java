@@ -36,6 +36,18 @@ import org.springframework.web.bind.annotation.*;
             "reportId": 3
         }
         ```
+        
+        #### REPORT_PROGRESS
+        긴 대화를 구간별로 나눠 분석하는 경우, 각 구간의 부분 분석 카드가 완성될 때마다 전송
+        ```json
+        {
+            "type": "REPORT_PROGRESS",
+            "reportId": 3,
+            "window": 1,
+            "totalWindows": 4,
+            "reportCards": [ ... ]
+        }
+        ```
         """
         )
 @Slf4j
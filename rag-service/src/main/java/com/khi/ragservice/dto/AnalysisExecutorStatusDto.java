@@ -0,0 +1,20 @@
+package com.khi.ragservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisExecutorStatusDto {
+    private int activeCount;
+    private int poolSize;
+    private int maxPoolSize;
+    private int queueSize;
+    private int queueCapacity;
+    private long rejectedCount;
+    private List<AnalysisJobDto> jobs;
+}
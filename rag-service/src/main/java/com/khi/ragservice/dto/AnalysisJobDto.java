@@ -0,0 +1,18 @@
+package com.khi.ragservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJobDto {
+    private Long reportId;
+    private String status;
+    private String stage;
+    private LocalDateTime enqueuedAt;
+    private LocalDateTime startedAt;
+}
@@ -0,0 +1,18 @@
+package com.khi.ragservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ReportProgressEvent {
+    private final Long reportId;
+    private final String requestUserId1;
+    private final String requestUserId2;
+    private final int window;
+    private final int totalWindows;
+    private final List<Map<String, Object>> reportCards;
+}
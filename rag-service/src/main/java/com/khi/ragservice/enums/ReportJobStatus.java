@@ -0,0 +1,26 @@
+package com.khi.ragservice.enums;
+
+/**
+ * 보고서 생성 작업(report_jobs)의 상태를 표현하는 enum
+ */
+public enum ReportJobStatus {
+    /**
+     * 대기 중 - next_run_at 이후 워커가 가져갈 수 있음
+     */
+    QUEUED,
+
+    /**
+     * 실행 중 - lease_until까지 한 워커가 점유
+     */
+    RUNNING,
+
+    /**
+     * 완료 - 보고서가 COMPLETED로 저장됨
+     */
+    SUCCEEDED,
+
+    /**
+     * 실패 - 최대 시도 횟수 초과, 보고서는 FAILED로 표시됨
+     */
+    FAILED
+}
@@ -0,0 +1,31 @@
+package com.khi.ragservice.enums;
+
+/**
+ * 데이터셋 시딩(vector_store 적재) 상태를 표현하는 enum
+ */
+public enum SeedState {
+    /**
+     * 대기 중 - 애플리케이션 시작 직후, 시딩 판단 전
+     */
+    PENDING,
+
+    /**
+     * 적재 중 - 검색 결과가 불완전할 수 있음
+     */
+    SEEDING,
+
+    /**
+     * 사용 가능 - 적재 완료 또는 이미 적재된 데이터셋
+     */
+    READY,
+
+    /**
+     * 이 인스턴스는 시딩하지 않음 - 다른 인스턴스/별도 작업이 적재
+     */
+    EXTERNAL,
+
+    /**
+     * 실패 - 재시작 시 마지막으로 완료된 파일 다음부터 재개
+     */
+    FAILED
+}
@@ -0,0 +1,529 @@
+package com.khi.ragservice.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * 고정 크기 데이터셋용 in-memory HNSW 그래프 (cosine 유사도)
+ * 벡터는 정규화한 뒤 off-heap direct buffer에 저장하므로 유사도는 내적으로 계산하고 GC 대상 heap을 늘리지 않는다.
+ * 이웃 목록은 primitive int 배열에 두며, 노드 수는 생성 시점에 고정된다.
+ *
+ * <p>{@link #setVector}로 모든 벡터를 채운 뒤 {@link #build}를 한 번 호출하고, 이후에는 읽기 전용으로
+ * 여러 스레드에서 {@link #search}를 호출할 수 있다. build 중의 이웃 목록 변경은 노드별 striped lock으로 보호한다.
+ * 이웃 선택은 heuristic 없이 가장 가까운 M개를 사용한다.
+ */
+public final class HnswGraph {
+
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final int LOCK_STRIPES = 1024;
+    private static final int MAX_LEVEL = 16;
+
+    private final int dimensions;
+    private final int size;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+
+    /** 노드 i의 벡터는 segments[i >>> SEGMENT_SHIFT]의 (i & SEGMENT_MASK) * dimensions 위치 */
+    private final FloatBuffer[] segments;
+
+    private final int[] levels;
+
+    /** layer 0 이웃: 노드 i의 이웃은 layer0[i * m0 ..], 개수는 layer0Count[i] */
+    private final int[] layer0;
+    private final int[] layer0Count;
+
+    /** layer 1 이상 이웃: upper[level - 1].get(node) = [count, neighbor...] */
+    private final Map<Integer, int[]>[] upper;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Object entryLock = new Object();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private volatile boolean built;
+
+    @SuppressWarnings("unchecked")
+    public HnswGraph(int dimensions, int size, int m, int efConstruction, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.dimensions = dimensions;
+        this.size = size;
+        this.m = Math.max(2, m);
+        this.m0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+
+        int segmentCount = ((size - 1) >>> SEGMENT_SHIFT) + 1;
+        this.segments = new FloatBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            int vectors = Math.min(1 << SEGMENT_SHIFT, size - (s << SEGMENT_SHIFT));
+            segments[s] = ByteBuffer.allocateDirect(vectors * dimensions * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+        }
+
+        this.layer0 = new int[size * m0];
+        this.layer0Count = new int[size];
+        this.levels = new int[size];
+
+        // 레벨은 미리 정해 두어 upper layer 맵의 구조가 build 중에 바뀌지 않도록 함
+        SplittableRandom random = new SplittableRandom(seed);
+        double ml = 1.0 / Math.log(this.m);
+        int top = 0;
+        for (int i = 0; i < size; i++) {
+            levels[i] = Math.min(MAX_LEVEL, (int) (-Math.log(1.0 - random.nextDouble()) * ml));
+            top = Math.max(top, levels[i]);
+        }
+        this.upper = new Map[top];
+        for (int l = 0; l < top; l++) {
+            upper[l] = new HashMap<>();
+        }
+        for (int i = 0; i < size; i++) {
+            for (int l = 1; l <= levels[i]; l++) {
+                upper[l - 1].put(i, new int[1 + this.m]);
+            }
+        }
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 노드 벡터 저장 (정규화해서 저장). build 이전에만 호출
+     */
+    public void setVector(int node, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("dimension mismatch - expected: " + dimensions
+                    + ", actual: " + vector.length);
+        }
+        float[] normalized = normalize(vector);
+        segments[node >>> SEGMENT_SHIFT].put((node & SEGMENT_MASK) * dimensions, normalized);
+    }
+
+    /**
+     * 모든 노드를 그래프에 삽입. 첫 노드를 넣은 뒤 나머지는 pool에서 병렬로 삽입
+     *
+     * @param progress 삽입이 끝난 노드 수를 받는 콜백 (로그용, 여러 스레드에서 호출됨)
+     */
+    public void build(ForkJoinPool pool, IntConsumer progress) throws Exception {
+        insert(0);
+        AtomicInteger done = new AtomicInteger(1);
+        pool.submit(() -> IntStream.range(1, size).parallel().forEach(node -> {
+            insert(node);
+            progress.accept(done.incrementAndGet());
+        })).get();
+        built = true;
+    }
+
+    /**
+     * @param query k개를 찾을 쿼리 벡터 (정규화되지 않아도 됨)
+     * @param ef    탐색 후보 수 (k보다 작으면 k 사용)
+     * @return 유사도 내림차순 상위 k개. 결과 노드는 nodes, 유사도는 scores에 채우고 실제 개수를 반환
+     */
+    public int search(float[] query, int k, int ef, int[] nodes, float[] scores) {
+        if (!built) {
+            throw new IllegalStateException("graph is not built");
+        }
+        float[] q = normalize(query);
+        int ep = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            ep = best(searchLayer(q, ep, 1, l));
+        }
+        LongHeap found = searchLayer(q, ep, Math.max(ef, k), 0);
+        while (found.size() > k) {
+            found.pop();
+        }
+        int count = found.size();
+        for (int i = count - 1; i >= 0; i--) {
+            long key = found.pop();
+            nodes[i] = node(key);
+            scores[i] = similarity(key);
+        }
+        return count;
+    }
+
+    private void insert(int node) {
+        float[] q = vector(node);
+        int level = levels[node];
+
+        int ep;
+        int top;
+        synchronized (entryLock) {
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+            ep = entryPoint;
+            top = maxLevel;
+        }
+
+        for (int l = top; l > level; l--) {
+            ep = best(searchLayer(q, ep, 1, l));
+        }
+        for (int l = Math.min(level, top); l >= 0; l--) {
+            LongHeap candidates = searchLayer(q, ep, efConstruction, l);
+            int max = l == 0 ? m0 : m;
+            // min-heap이므로 앞쪽(덜 가까운) 후보를 버리고 가장 가까운 max개만 남김
+            while (candidates.size() > max) {
+                candidates.pop();
+            }
+            int[] selected = new int[candidates.size()];
+            int selectedCount = 0;
+            while (candidates.size() > 0) {
+                int candidate = node(candidates.pop());
+                // 병렬 삽입 중 다른 노드가 먼저 이 노드를 연결했으면 자기 자신이 후보에 섞일 수 있음
+                if (candidate != node) {
+                    selected[selectedCount++] = candidate;
+                }
+            }
+            // pop은 유사도 오름차순이므로 뒤집어서 가까운 순으로 정렬
+            selected = reverse(selected, selectedCount);
+            setNeighbors(node, l, selected);
+            for (int neighbor : selected) {
+                addNeighbor(neighbor, node, l);
+            }
+            ep = selected.length > 0 ? selected[0] : ep;
+        }
+
+        if (level > top) {
+            synchronized (entryLock) {
+                if (level > maxLevel) {
+                    entryPoint = node;
+                    maxLevel = level;
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 layer에서 ep부터 탐색해 가장 가까운 ef개를 반환 (유사도 기준 min-heap)
+     */
+    private LongHeap searchLayer(float[] q, int ep, int ef, int level) {
+        VisitedSet seen = new VisitedSet(ef);
+        LongHeap candidates = new LongHeap(ef * 2);
+        LongHeap results = new LongHeap(ef + 1);
+
+        float s = dot(ep, q);
+        seen.mark(ep);
+        candidates.push(~encode(s, ep));
+        results.push(encode(s, ep));
+
+        int[] buffer = new int[m0];
+        while (candidates.size() > 0) {
+            long c = ~candidates.pop();
+            if (results.size() >= ef && similarity(c) < similarity(results.peek())) {
+                break;
+            }
+            int count = neighbors(node(c), level, buffer);
+            for (int i = 0; i < count; i++) {
+                int e = buffer[i];
+                if (!seen.mark(e)) {
+                    continue;
+                }
+                float se = dot(e, q);
+                if (results.size() < ef || se > similarity(results.peek())) {
+                    candidates.push(~encode(se, e));
+                    results.push(encode(se, e));
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int neighbors(int node, int level, int[] buffer) {
+        if (built) {
+            return copyNeighbors(node, level, buffer);
+        }
+        synchronized (lock(node)) {
+            return copyNeighbors(node, level, buffer);
+        }
+    }
+
+    private int copyNeighbors(int node, int level, int[] buffer) {
+        if (level == 0) {
+            int count = layer0Count[node];
+            System.arraycopy(layer0, node * m0, buffer, 0, count);
+            return count;
+        }
+        int[] list = upper[level - 1].get(node);
+        System.arraycopy(list, 1, buffer, 0, list[0]);
+        return list[0];
+    }
+
+    private void setNeighbors(int node, int level, int[] selected) {
+        synchronized (lock(node)) {
+            if (level == 0) {
+                System.arraycopy(selected, 0, layer0, node * m0, selected.length);
+                layer0Count[node] = selected.length;
+            } else {
+                int[] list = upper[level - 1].get(node);
+                System.arraycopy(selected, 0, list, 1, selected.length);
+                list[0] = selected.length;
+            }
+        }
+    }
+
+    /**
+     * 역방향 연결. 이웃 수가 한도를 넘으면 neighbor 기준으로 가장 가까운 한도만큼만 남김
+     */
+    private void addNeighbor(int neighbor, int node, int level) {
+        synchronized (lock(neighbor)) {
+            int max = level == 0 ? m0 : m;
+            int[] list;
+            int offset;
+            int count;
+            if (level == 0) {
+                list = layer0;
+                offset = neighbor * m0;
+                count = layer0Count[neighbor];
+            } else {
+                list = upper[level - 1].get(neighbor);
+                offset = 1;
+                count = list[0];
+            }
+            for (int i = 0; i < count; i++) {
+                if (list[offset + i] == node) {
+                    return;
+                }
+            }
+
+            if (count < max) {
+                list[offset + count] = node;
+                count++;
+            } else {
+                float[] base = vector(neighbor);
+                LongHeap keep = new LongHeap(max + 1);
+                for (int i = 0; i < count; i++) {
+                    keep.push(encode(dot(list[offset + i], base), list[offset + i]));
+                }
+                keep.push(encode(dot(node, base), node));
+                keep.pop();
+                count = keep.size();
+                for (int i = 0; i < count; i++) {
+                    list[offset + i] = node(keep.pop());
+                }
+            }
+
+            if (level == 0) {
+                layer0Count[neighbor] = count;
+            } else {
+                list[0] = count;
+            }
+        }
+    }
+
+    private static int[] reverse(int[] values, int count) {
+        int[] reversed = new int[count];
+        for (int i = 0; i < count; i++) {
+            reversed[i] = values[count - 1 - i];
+        }
+        return reversed;
+    }
+
+    private static int best(LongHeap heap) {
+        long best = heap.pop();
+        while (heap.size() > 0) {
+            best = heap.pop();
+        }
+        return node(best);
+    }
+
+    private Object lock(int node) {
+        return locks[node & (LOCK_STRIPES - 1)];
+    }
+
+    private float[] vector(int node) {
+        float[] v = new float[dimensions];
+        segments[node >>> SEGMENT_SHIFT].get((node & SEGMENT_MASK) * dimensions, v);
+        return v;
+    }
+
+    /**
+     * 정규화된 벡터끼리의 내적 = cosine 유사도. 누산기를 나눠 의존성 체인을 줄임
+     */
+    private float dot(int node, float[] q) {
+        FloatBuffer segment = segments[node >>> SEGMENT_SHIFT];
+        int base = (node & SEGMENT_MASK) * dimensions;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimensions; i += 4) {
+            s0 += segment.get(base + i) * q[i];
+            s1 += segment.get(base + i + 1) * q[i + 1];
+            s2 += segment.get(base + i + 2) * q[i + 2];
+            s3 += segment.get(base + i + 3) * q[i + 3];
+        }
+        for (; i < dimensions; i++) {
+            s0 += segment.get(base + i) * q[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += (double) v * v;
+        }
+        float[] normalized = Arrays.copyOf(vector, vector.length);
+        if (norm == 0) {
+            return normalized;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] *= inv;
+        }
+        return normalized;
+    }
+
+    /**
+     * (유사도, 노드)를 long 하나로 묶음. 상위 32비트는 float 순서를 유지하는 정수, 하위 32비트는 노드 번호
+     */
+    private static long encode(float similarity, int node) {
+        int bits = Float.floatToRawIntBits(similarity);
+        int sortable = bits ^ ((bits >> 31) & 0x7fffffff);
+        return ((long) sortable << 32) | (node & 0xffffffffL);
+    }
+
+    private static float similarity(long key) {
+        int sortable = (int) (key >> 32);
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7fffffff));
+    }
+
+    private static int node(long key) {
+        return (int) key;
+    }
+
+    /** 박싱 없는 long min-heap */
+    private static final class LongHeap {
+
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            this.heap = new long[Math.max(4, capacity)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+
+    /**
+     * 탐색 한 번의 방문 표시 (open addressing int set)
+     * 한 번의 탐색이 방문하는 노드는 ef * 이웃 수 정도이므로 전체 노드 수 크기의 배열 대신 ef 기준으로 잡고 필요할 때만 늘린다.
+     * 스레드에 묶이지 않으므로 virtual thread마다 노드 수 크기의 배열이 생기지 않는다.
+     */
+    static final class VisitedSet {
+
+        /** 0은 빈 칸이므로 node + 1을 저장 */
+        private int[] slots;
+        private int mask;
+        private int count;
+
+        VisitedSet(int ef) {
+            int capacity = Integer.highestOneBit(Math.max(64, ef * 8) - 1) << 1;
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /** 처음 방문이면 true */
+        boolean mark(int node) {
+            int key = node + 1;
+            int i = mix(key) & mask;
+            while (slots[i] != 0) {
+                if (slots[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = key;
+            if (++count * 2 > slots.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = new int[old.length << 1];
+            mask = slots.length - 1;
+            for (int key : old) {
+                if (key != 0) {
+                    int i = mix(key) & mask;
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = key;
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
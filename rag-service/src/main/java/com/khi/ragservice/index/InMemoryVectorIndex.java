@@ -0,0 +1,265 @@
+package com.khi.ragservice.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.ragservice.loader.EmbeddingArtifactService;
+import com.khi.ragservice.loader.VectorIndexHealthIndicator;
+import com.khi.ragservice.properties.RagProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.VectorStoreRetriever;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * vector_store 전체를 메모리에 올린 HNSW 인덱스 (tictactalk.rag.index.enabled=true)
+ * 라벨 데이터셋은 적재 후 바뀌지 않으므로, vector index가 준비되면 한 번 읽어 그래프를 만들고
+ * 이후 검색은 DB 왕복 없이 프로세스 안에서 처리한다. 문서 메타데이터는 행 번호 기준 primitive 배열로 보관한다.
+ *
+ * <p>pgvector는 원본이며, 빌드 전/빌드 실패/필터 조건이 있는 검색은 pgvector로 처리한다.
+ * 빌드 이후 vector_store에 추가된 행은 재기동 전까지 반영되지 않는다.
+ */
+@Slf4j
+@Component
+public class InMemoryVectorIndex implements VectorStoreRetriever {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final long GRAPH_SEED = 42L;
+
+    private final RagProperties.Index props;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final EmbeddingModel embeddingModel;
+    private final ObjectProvider<VectorStore> vectorStoreProvider;
+    private final VectorIndexHealthIndicator vectorIndexHealthIndicator;
+    private final int dimensions;
+
+    private volatile Snapshot snapshot;
+
+    /** 빌드는 인스턴스당 한 번만 시도 (실패 시 pgvector 검색 유지) */
+    private volatile boolean attempted;
+
+    public InMemoryVectorIndex(RagProperties ragProperties,
+                               DataSource dataSource,
+                               ObjectMapper objectMapper,
+                               EmbeddingModel embeddingModel,
+                               ObjectProvider<VectorStore> vectorStoreProvider,
+                               VectorIndexHealthIndicator vectorIndexHealthIndicator,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.ai.vectorstore.pgvector.dimensions:1536}") int dimensions) {
+        this.props = ragProperties.getIndex();
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.embeddingModel = embeddingModel;
+        this.vectorStoreProvider = vectorStoreProvider;
+        this.vectorIndexHealthIndicator = vectorIndexHealthIndicator;
+        this.dimensions = dimensions;
+
+        Gauge.builder("rag.index.size", this, index -> {
+            Snapshot current = index.snapshot;
+            return current == null ? 0 : current.graph().size();
+        }).register(meterRegistry);
+    }
+
+    /**
+     * 빌드가 끝난 그래프와 메타데이터. 모든 배열은 그래프 노드 번호(= 적재 순서)로 접근
+     */
+    private record Snapshot(HnswGraph graph,
+                            long[] idMsb,
+                            long[] idLsb,
+                            int[] rowIds,
+                            short[] labelIds,
+                            String[] labelNames,
+                            String[] texts) {
+
+        Document document(int node, float score) {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("id", rowIds[node]);
+            String label = labelIds[node] >= 0 && labelIds[node] < labelNames.length ? labelNames[labelIds[node]] : null;
+            // Document 메타데이터는 null 값을 허용하지 않음
+            metadata.put("label", label != null ? label : "");
+            metadata.put("label_id", (int) labelIds[node]);
+            return Document.builder()
+                    .id(new UUID(idMsb[node], idLsb[node]).toString())
+                    .text(texts[node])
+                    .metadata(metadata)
+                    .score((double) score)
+                    .build();
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * vector index가 준비되면 별도 스레드에서 한 번 빌드. 스케줄러 스레드는 막지 않음
+     */
+    @Scheduled(fixedDelayString = "${tictactalk.rag.index.poll-interval-ms:10000}")
+    public void buildWhenReady() {
+        if (!props.isEnabled() || attempted || !vectorIndexHealthIndicator.isReady()) {
+            return;
+        }
+        attempted = true;
+        Thread.ofPlatform().name("vector-index-build").daemon(true).start(() -> {
+            try {
+                build();
+            } catch (Throwable e) {
+                log.error("[RAG][INDEX] in-memory index build failed -> keep pgvector search", e);
+            }
+        });
+    }
+
+    /**
+     * {@link com.khi.ragservice.repository.VectorSearchRepository#searchTopK}와 같은 형식의 결과
+     *
+     * @return 입력 순서와 같은 순서의 쿼리별 검색 결과 (score = cosine 유사도)
+     */
+    public List<List<Document>> searchTopK(List<float[]> embeddings, int k) {
+        Snapshot current = requireSnapshot();
+        int[] nodes = new int[k];
+        float[] scores = new float[k];
+        List<List<Document>> results = new ArrayList<>(embeddings.size());
+        for (float[] embedding : embeddings) {
+            int count = current.graph().search(embedding, k, props.getEfSearch(), nodes, scores);
+            List<Document> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                documents.add(current.document(nodes[i], scores[i]));
+            }
+            results.add(documents);
+        }
+        return results;
+    }
+
+    /**
+     * Spring AI 검색 인터페이스. 쿼리를 임베딩해 메모리 인덱스에서 찾고,
+     * 인덱스가 없거나 메타데이터 필터가 있으면 pgvector에 위임
+     */
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        if (!isReady() || request.hasFilterExpression()) {
+            return vectorStoreProvider.getObject().similaritySearch(request);
+        }
+        float[] embedding = embeddingModel.embed(request.getQuery());
+        List<Document> documents = searchTopK(List.of(embedding), request.getTopK()).get(0);
+        return documents.stream()
+                .filter(doc -> doc.getScore() >= request.getSimilarityThreshold())
+                .toList();
+    }
+
+    private Snapshot requireSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("in-memory vector index is not built");
+        }
+        return current;
+    }
+
+    private void build() throws Exception {
+        long t0 = System.nanoTime();
+        int size = countRows();
+        if (size == 0) {
+            log.warn("[RAG][INDEX] vector_store is empty -> skip in-memory index");
+            return;
+        }
+
+        HnswGraph graph = new HnswGraph(dimensions, size, props.getM(), props.getEfConstruction(), GRAPH_SEED);
+        long[] idMsb = new long[size];
+        long[] idLsb = new long[size];
+        int[] rowIds = new int[size];
+        short[] labelIds = new short[size];
+        String[] labelNames = new String[0];
+        String[] texts = new String[size];
+
+        int loaded = 0;
+        try (Connection con = dataSource.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            // PostgreSQL은 autocommit이 꺼져 있어야 fetch size 단위로 커서를 읽음
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, content, metadata::text, embedding::text FROM vector_store ORDER BY id")) {
+                ps.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    // count 이후 추가된 행은 다음 기동 때 반영
+                    while (loaded < size && rs.next()) {
+                        UUID id = UUID.fromString(rs.getString(1));
+                        JsonNode metadata = objectMapper.readTree(rs.getString(3));
+                        int labelId = metadata.path("label_id").asInt(0);
+
+                        idMsb[loaded] = id.getMostSignificantBits();
+                        idLsb[loaded] = id.getLeastSignificantBits();
+                        texts[loaded] = rs.getString(2);
+                        rowIds[loaded] = metadata.path("id").asInt(-1);
+                        labelIds[loaded] = (short) labelId;
+                        if (labelId >= 0) {
+                            if (labelId >= labelNames.length) {
+                                labelNames = Arrays.copyOf(labelNames, labelId + 1);
+                            }
+                            if (labelNames[labelId] == null) {
+                                labelNames[labelId] = metadata.path("label").asText(null);
+                            }
+                        }
+                        graph.setVector(loaded, EmbeddingArtifactService.parseVector(rs.getString(4)));
+                        loaded++;
+                    }
+                }
+            } finally {
+                con.commit();
+                con.setAutoCommit(autoCommit);
+            }
+        }
+        if (loaded < size) {
+            throw new IllegalStateException("vector_store shrank during index load - expected: " + size
+                    + ", loaded: " + loaded);
+        }
+        long t1 = System.nanoTime();
+        log.info("[RAG][INDEX] loaded {} vectors in {} ms -> building graph (m={}, efConstruction={})",
+                size, (t1 - t0) / 1_000_000, props.getM(), props.getEfConstruction());
+
+        int threads = props.getBuildThreads() > 0 ? props.getBuildThreads() : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        int step = Math.max(1, size / 10);
+        try {
+            graph.build(pool, done -> {
+                if (done % step == 0) {
+                    log.info("[RAG][INDEX] build progress {}/{}", done, size);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        snapshot = new Snapshot(graph, idMsb, idLsb, rowIds, labelIds, labelNames, texts);
+        log.info("[RAG][INDEX] in-memory index ready - vectors: {}, build {} ms",
+                size, (System.nanoTime() - t1) / 1_000_000);
+    }
+
+    private int countRows() throws Exception {
+        try (Connection con = dataSource.getConnection();
+                Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery("SELECT count(*) FROM vector_store")) {
+            rs.next();
+            return Math.toIntExact(rs.getLong(1));
+        }
+    }
+}
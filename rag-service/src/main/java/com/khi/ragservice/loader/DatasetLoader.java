@@ -1,59 +1,131 @@
 package com.khi.ragservice.loader;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.ragservice.cache.RagSearchCache;
+import com.khi.ragservice.enums.SeedState;
+import com.khi.ragservice.properties.RagProperties;
+import com.khi.ragservice.repository.VectorStoreBulkWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DatasetLoader implements CommandLineRunner {
 
-    private final VectorStore vectorStore;
+    private final EmbeddingModel embeddingModel;
+    private final VectorStoreBulkWriter vectorStoreBulkWriter;
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
     private final ResourceLoader resourceLoader;
+    private final RagProperties ragProperties;
+    private final EmbeddingArtifactService embeddingArtifactService;
+    private final RagSearchCache ragSearchCache;
 
-    private static final boolean SEED_ENABLED = true;
     private static final String DATASET_DIR = "classpath:";
     private static final int LABEL_COUNT = 30;
 
     private static final boolean SKIP_IF_NOT_EMPTY = true;
     private static final boolean USE_FINGERPRINT = true;
     private static final boolean RESET_BEFORE_SEED = false;
-    private static final int BATCH_SIZE = 1000;
+
+    /** 첫 배치를 넣기 전에 seed_checkpoint에 남기는 시작 표시. 파일명 / artifact chunk 키와 겹치지 않음 */
+    private static final String STARTED_MARKER = "#started";
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private volatile SeedState state = SeedState.PENDING;
+    private volatile String lastError;
 
     @Override
     public void run(String... args) throws Exception {
-        if (!SEED_ENABLED) {
-            log.info("[seed] disabled");
+        RagProperties.Seed props = ragProperties.getSeed();
+        if (!props.isEnabled()) {
+            log.info("[seed] disabled on this instance -> readiness follows vector_store contents");
+            // 다른 인스턴스가 적재한 데이터셋 기준으로 검색 결과 캐시 버전을 맞춤 (health 조회에서는 바꾸지 않음)
+            ragSearchCache.onDatasetChanged(findAppliedFingerprint());
+            state = SeedState.EXTERNAL;
             return;
         }
 
+        if (!props.isBackground()) {
+            seedOrMarkFailed();
+            return;
+        }
+
+        // 시딩이 끝날 때까지 기다리지 않고 기동 완료. readiness는 VectorIndexHealthIndicator가 판단
+        Thread.ofPlatform().name("dataset-seed").daemon(true).start(() -> {
+            try {
+                seedOrMarkFailed();
+            } catch (Exception e) {
+                // 상태/로그는 seedOrMarkFailed에서 처리됨
+            }
+        });
+    }
+
+    public SeedState getState() {
+        return state;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    private void seedOrMarkFailed() throws Exception {
+        try {
+            seed();
+            // 다시 적재된 경우 이전 데이터셋 기준의 검색 결과 캐시를 쓰지 않도록 함
+            ragSearchCache.onDatasetChanged(findAppliedFingerprint());
+            state = SeedState.READY;
+            log.info("===== RAG Service Ready for Requests =====");
+        } catch (Exception e) {
+            state = SeedState.FAILED;
+            lastError = String.valueOf(e);
+            log.error("[seed] dataset seed failed - restart resumes from the last completed file", e);
+            throw e;
+        }
+    }
+
+    private void seed() throws Exception {
         if (RESET_BEFORE_SEED) {
             truncateForReset(dataSource);
         }
 
-        if (!RESET_BEFORE_SEED && SKIP_IF_NOT_EMPTY && isVectorStoreNotEmpty()) {
-            log.info("[seed] vector_store not empty -> skip dataset seed");
-            return;
+        RagProperties.Seed props = ragProperties.getSeed();
+        if (props.getArtifactPath() != null && !props.getArtifactPath().isBlank()) {
+            Path artifact = Path.of(props.getArtifactPath());
+            if (Files.isRegularFile(artifact)) {
+                seedFromArtifact(artifact, props);
+                return;
+            }
+            log.warn("[seed] embedding artifact not found: {} -> fall back to dataset files", artifact);
         }
 
         // Load all 30 dataset files
@@ -74,76 +146,265 @@ public class DatasetLoader implements CommandLineRunner {
         }
 
         String fingerprint = null;
+        Set<String> completedFiles = Set.of();
         if (USE_FINGERPRINT) {
-            fingerprint = calcCombinedSha256(resources);
             ensureSeedHistoryTable(dataSource);
+            fingerprint = resolveFingerprint(resources);
             if (!RESET_BEFORE_SEED && isSeedAlreadyApplied(dataSource, fingerprint)) {
                 log.info("[seed] same dataset fingerprint already applied -> skip seed");
                 return;
             }
+            if (fingerprint != null) {
+                ensureSeedCheckpointTable(dataSource);
+                completedFiles = loadCompletedFiles(dataSource, fingerprint);
+            }
+        }
+
+        completedFiles = new HashSet<>(completedFiles);
+        boolean resumed = completedFiles.remove(STARTED_MARKER);
+        if (shouldSkipNonEmpty(resumed || !completedFiles.isEmpty())) {
+            log.info("[seed] vector_store not empty -> skip dataset seed");
+            return;
+        }
+        if (fingerprint != null) {
+            markSeedStarted(dataSource, fingerprint);
         }
 
-        log.info("[seed] loading JSON datasets from {} files", resources.size());
+        if (!completedFiles.isEmpty()) {
+            log.info("[seed] resuming - {} of {} files already seeded", completedFiles.size(), resources.size());
+        }
+        log.info("[seed] loading JSON datasets from {} files", resources.size() - completedFiles.size());
+        state = SeedState.SEEDING;
 
-        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        SeedPipeline pipeline = new SeedPipeline(props);
         long total = 0;
 
-        for (org.springframework.core.io.Resource resource : resources) {
-            try (var in = resource.getInputStream();
-                    var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-
-                reader.mark(4096);
-                String firstLine = reader.readLine();
-                if (firstLine == null) {
-                    log.warn("[seed] dataset file is empty: {}", resource.getFilename());
+        try {
+            for (org.springframework.core.io.Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (completedFiles.contains(filename)) {
                     continue;
                 }
-                String head = firstLine.stripLeading();
-                reader.reset();
-
-                if (head.startsWith("[")) {
-                    String all = reader.lines().collect(Collectors.joining("\n"));
-                    JsonNode arr = objectMapper.readTree(all);
-                    if (!arr.isArray())
-                        throw new IllegalArgumentException("dataset is not a JSON array");
-                    for (JsonNode node : arr) {
-                        int added = processNode(node, batch);
-                        total += added;
-                        if (batch.size() >= BATCH_SIZE)
-                            flushBatch(batch);
+                total += readFile(resource, pipeline, props.getBatchSize());
+
+                // 파일의 모든 배치가 적재된 뒤에 체크포인트 기록
+                String fp = fingerprint;
+                pipeline.onFileComplete(() -> {
+                    if (fp != null) {
+                        markFileCompleted(dataSource, fp, filename);
                     }
-                } else {
-                    // NDJSON
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        line = stripBom(line).trim();
-                        if (line.isEmpty())
-                            continue;
-                        JsonNode node = objectMapper.readTree(line);
-                        int added = processNode(node, batch);
-                        total += added;
-                        if (batch.size() >= BATCH_SIZE)
-                            flushBatch(batch);
+                    log.info("[seed] file done: {}", filename);
+                });
+            }
+            pipeline.awaitCompletion();
+        } finally {
+            pipeline.shutdown();
+        }
+
+        if (USE_FINGERPRINT && fingerprint != null) {
+            upsertSeedHistory(dataSource, fingerprint);
+        }
+
+        log.info("[seed] JSON dataset load done. totalRecords={}, inserted={}", total, pipeline.inserted());
+
+        if (props.getExportPath() != null && !props.getExportPath().isBlank()) {
+            try {
+                embeddingArtifactService.export(Path.of(props.getExportPath()));
+            } catch (Exception e) {
+                log.error("[seed] embedding artifact export failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * vector_store가 이미 채워져 있으면 시딩을 건너뛸지 판단
+     * 시작 표시만 있고 seed_history에 완료 기록이 없는 시딩이 하나라도 있으면, 그 데이터는 중간에 멈춘 일부이므로 건너뛰지 않는다.
+     *
+     * @param resuming 현재 fingerprint로 시작했거나 체크포인트를 남긴 적이 있는지
+     */
+    private boolean shouldSkipNonEmpty(boolean resuming) {
+        if (RESET_BEFORE_SEED || !SKIP_IF_NOT_EMPTY || resuming) {
+            return false;
+        }
+        if (hasUnfinishedSeed(dataSource)) {
+            log.warn("[seed] unfinished seed found in seed_checkpoint -> not skipping on non-empty vector_store");
+            return false;
+        }
+        return isVectorStoreNotEmpty();
+    }
+
+    /**
+     * 미리 임베딩된 artifact에서 적재 (임베딩 API 호출 없음)
+     * fingerprint는 artifact header의 records 해시이며, batchSize 단위로 체크포인트를 남겨 중단 시 이어서 적재한다.
+     */
+    private void seedFromArtifact(Path path, RagProperties.Seed props) throws Exception {
+        try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path)) {
+            EmbeddingArtifact.Header header = reader.header();
+            embeddingArtifactService.validate(header);
+
+            String fingerprint = header.fingerprint();
+            ensureSeedHistoryTable(dataSource);
+            if (!RESET_BEFORE_SEED && isSeedAlreadyApplied(dataSource, fingerprint)) {
+                log.info("[seed] same embedding artifact already applied -> skip seed");
+                return;
+            }
+            ensureSeedCheckpointTable(dataSource);
+            Set<String> completedChunks = loadCompletedFiles(dataSource, fingerprint);
+            boolean resumed = completedChunks.remove(STARTED_MARKER);
+
+            if (shouldSkipNonEmpty(resumed || !completedChunks.isEmpty())) {
+                log.info("[seed] vector_store not empty -> skip artifact seed");
+                return;
+            }
+            markSeedStarted(dataSource, fingerprint);
+
+            log.info("[seed] loading embedding artifact {} - records: {}, model: {}, resumed chunks: {}",
+                    path, header.count(), header.model(), completedChunks.size());
+            state = SeedState.SEEDING;
+
+            int batchSize = Math.max(1, props.getBatchSize());
+            SeedPipeline pipeline = new SeedPipeline(props);
+            try {
+                long chunk = 0;
+                while (reader.hasNext()) {
+                    String chunkKey = "artifact#" + chunk++;
+                    if (completedChunks.contains(chunkKey)) {
+                        // 이미 적재된 chunk는 문자열/벡터를 만들지 않고 건너뜀
+                        for (int i = 0; i < batchSize && reader.hasNext(); i++) {
+                            reader.skip();
+                        }
+                        continue;
+                    }
+
+                    List<Document> docs = new ArrayList<>(batchSize);
+                    List<float[]> embeddings = new ArrayList<>(batchSize);
+                    while (reader.hasNext() && docs.size() < batchSize) {
+                        EmbeddingArtifact.Entry entry = reader.next();
+                        docs.add(new Document(entry.id().toString(), entry.content(),
+                                objectMapper.readValue(entry.metadataJson(), METADATA_TYPE)));
+                        embeddings.add(entry.embedding());
                     }
+                    pipeline.submit(docs, embeddings);
+                    pipeline.onFileComplete(() -> markFileCompleted(dataSource, fingerprint, chunkKey));
                 }
-            } catch (Exception e) {
-                log.error("[seed] error loading file {}: {}", resource.getFilename(), e.getMessage());
-                throw e;
+                pipeline.awaitCompletion();
+            } finally {
+                pipeline.shutdown();
+            }
+
+            upsertSeedHistory(dataSource, fingerprint);
+            log.info("[seed] embedding artifact load done. records={}, inserted={}", header.count(), pipeline.inserted());
+        }
+    }
+
+    /**
+     * 파일 이름/크기/수정 시각으로 만든 manifest가 이전과 같으면 저장해 둔 fingerprint를 재사용
+     * 매 기동마다 전체 파일을 다시 읽어 SHA-256을 계산하지 않기 위함
+     */
+    private String resolveFingerprint(List<org.springframework.core.io.Resource> resources) {
+        String manifest = calcManifest(resources);
+        if (manifest != null) {
+            ensureSeedManifestTable(dataSource);
+            String cached = findFingerprintByManifest(dataSource, manifest);
+            if (cached != null) {
+                log.info("[seed] dataset manifest unchanged -> reuse fingerprint");
+                return cached;
             }
         }
 
+        String fingerprint = calcCombinedSha256(resources);
+        if (manifest != null && fingerprint != null) {
+            saveManifest(dataSource, manifest, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private String calcManifest(List<org.springframework.core.io.Resource> resources) {
+        try {
+            var md = MessageDigest.getInstance("SHA-256");
+            for (org.springframework.core.io.Resource res : resources) {
+                String entry = res.getFilename() + ":" + res.contentLength() + ":" + res.lastModified() + "\n";
+                md.update(entry.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (Exception e) {
+            log.warn("[seed] manifest calc failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 파일을 읽어 batchSize 단위로 파이프라인에 넘김. 워커가 밀리면 submit에서 대기한다.
+     */
+    private long readFile(org.springframework.core.io.Resource resource, SeedPipeline pipeline, int batchSize)
+            throws Exception {
+        String filename = resource.getFilename();
+        List<Document> batch = new ArrayList<>(batchSize);
+        long total;
+
+        try (var in = resource.getInputStream();
+                JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            total = forEachRow(parser, filename, node -> {
+                int loaded = processNode(node, filename, batch);
+                if (batch.size() >= batchSize)
+                    flushBatch(batch, pipeline);
+                return loaded;
+            });
+        } catch (Exception e) {
+            log.error("[seed] error loading file {}: {}", filename, e.getMessage());
+            throw e;
+        }
+
         if (!batch.isEmpty())
-            flushBatch(batch);
+            flushBatch(batch, pipeline);
+        return total;
+    }
 
-        if (USE_FINGERPRINT && fingerprint != null) {
-            upsertSeedHistory(dataSource, fingerprint);
+    /**
+     * 데이터셋 행(JSON 객체)을 하나씩 handler에 넘김
+     * JSON 배열과 NDJSON 모두 하나의 streaming parser로 객체를 하나씩 읽으므로
+     * 파일 전체를 문자열/트리로 올리지 않는다. (UTF-8 BOM은 Jackson이 byte 입력에서 처리)
+     *
+     * @return handler가 반환한 적재 건수의 합
+     */
+    static long forEachRow(JsonParser parser, String filename, RowHandler handler) throws Exception {
+        long total = 0;
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            log.warn("[seed] dataset file is empty: {}", filename);
+            return 0;
+        }
+
+        if (first == JsonToken.START_ARRAY) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                total += handler.accept(readObject(parser, token));
+            }
+        } else {
+            // NDJSON: 줄마다 새 parser를 만들지 않고 root 레벨 객체를 이어서 읽음
+            for (JsonToken token = first; token != null; token = parser.nextToken()) {
+                total += handler.accept(readObject(parser, token));
+            }
         }
+        return total;
+    }
 
-        log.info("[seed] JSON dataset load done. totalRecords={}", total);
-        log.info("===== RAG Service Ready for Requests =====");
+    @FunctionalInterface
+    interface RowHandler {
+
+        /** @return 적재한 행 수 */
+        int accept(JsonNode row) throws Exception;
     }
 
-    private int processNode(JsonNode node, List<Document> batch) {
+    private static JsonNode readObject(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("dataset row is not a JSON object: " + token
+                    + " at line " + parser.currentLocation().getLineNr());
+        }
+        return parser.readValueAsTree();
+    }
+
+    private int processNode(JsonNode node, String filename, List<Document> batch) {
         Map<String, JsonNode> idx = normalizeKeys(node);
 
         int id = parseInt(req(idx, "id"), "id");
@@ -160,29 +421,127 @@ public class DatasetLoader implements CommandLineRunner {
         metadata.put("label", label);
         metadata.put("label_id", labelId);
 
-        Document doc = new Document(text, metadata);
+        // 파일명 + 행 id 기반 고정 id: 중단 후 같은 파일을 다시 적재해도 중복 행이 생기지 않음
+        String docId = UUID.nameUUIDFromBytes((filename + ":" + id).getBytes(StandardCharsets.UTF_8)).toString();
+        Document doc = new Document(docId, text, metadata);
         batch.add(doc);
         return 1;
     }
 
-    private void flushBatch(List<Document> batch) {
-        try {
-            log.info("[seed] Generating embeddings and saving batch of {} records to Vector DB...", batch.size());
-            vectorStore.add(batch);
-            log.info("[seed] Successfully stored {} records.", batch.size());
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            batch.clear();
+    private void flushBatch(List<Document> batch, SeedPipeline pipeline) throws InterruptedException {
+        pipeline.submit(new ArrayList<>(batch));
+        batch.clear();
+    }
+
+    /**
+     * 임베딩 + COPY 적재 워커 풀
+     * 동시에 떠 있는 배치 수를 maxInFlightBatches로 제한하고, 첫 실패가 생기면 이후 배치는 건너뛴다.
+     */
+    private class SeedPipeline {
+
+        private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        private final Semaphore inFlight;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong inserted = new AtomicLong();
+        private final List<CompletableFuture<Void>> fileBatches = new ArrayList<>();
+        private final List<CompletableFuture<Void>> files = new ArrayList<>();
+
+        SeedPipeline(RagProperties.Seed props) {
+            int workers = Math.max(1, props.getWorkers());
+            this.inFlight = new Semaphore(Math.max(1, props.getMaxInFlightBatches()));
+            executor.setCorePoolSize(workers);
+            executor.setMaxPoolSize(workers);
+            executor.setQueueCapacity(Math.max(1, props.getMaxInFlightBatches()));
+            executor.setThreadNamePrefix("seed-");
+            executor.initialize();
+        }
+
+        void submit(List<Document> batch) throws InterruptedException {
+            submit(batch, null);
+        }
+
+        /**
+         * @param embeddings 미리 계산된 임베딩 (null이면 워커에서 임베딩 API 호출)
+         */
+        void submit(List<Document> batch, List<float[]> embeddings) throws InterruptedException {
+            throwIfFailed();
+            inFlight.acquire();
+            CompletableFuture<Void> future;
+            try {
+                future = CompletableFuture.runAsync(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            store(batch, embeddings);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            fileBatches.add(future.whenComplete((ok, e) -> {
+                if (e != null) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        void onFileComplete(Runnable checkpoint) {
+            List<CompletableFuture<Void>> batches = new ArrayList<>(fileBatches);
+            fileBatches.clear();
+            files.add(CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .thenRun(() -> {
+                        if (failure.get() == null) {
+                            checkpoint.run();
+                        }
+                    }));
+        }
+
+        void awaitCompletion() {
+            try {
+                CompletableFuture.allOf(files.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                failure.compareAndSet(null, e.getCause());
+            }
+            throwIfFailed();
+        }
+
+        long inserted() {
+            return inserted.get();
+        }
+
+        void shutdown() {
+            executor.shutdown();
+        }
+
+        private void store(List<Document> batch, List<float[]> precomputed) {
+            List<float[]> embeddings = precomputed != null
+                    ? precomputed
+                    : embeddingModel.embed(batch.stream().map(Document::getText).toList());
+            int rows = vectorStoreBulkWriter.insert(batch, embeddings);
+            inserted.addAndGet(rows);
+            log.debug("[seed] stored batch - size: {}, inserted: {}", batch.size(), rows);
+        }
+
+        private void throwIfFailed() {
+            Throwable t = failure.get();
+            if (t != null) {
+                throw new IllegalStateException("[seed] batch failed - rerun resumes from the last completed file", t);
+            }
         }
     }
 
-    private boolean isVectorStoreNotEmpty() {
+    /**
+     * vector_store에 검색 가능한 행이 있는지 (시딩을 하지 않는 인스턴스의 readiness 판단용)
+     */
+    public boolean isVectorStoreNotEmpty() {
         try (Connection con = dataSource.getConnection();
-                PreparedStatement ps = con.prepareStatement("SELECT count(*) FROM vector_store")) {
+                PreparedStatement ps = con.prepareStatement("SELECT EXISTS (SELECT 1 FROM vector_store)")) {
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    return rs.getBoolean(1);
                 }
             }
         } catch (Exception e) {
@@ -192,6 +551,22 @@ public class DatasetLoader implements CommandLineRunner {
         return false;
     }
 
+    /**
+     * 가장 최근에 적용된 데이터셋 fingerprint (seed_history 기준, 없으면 null)
+     */
+    public String findAppliedFingerprint() {
+        try (Connection con = dataSource.getConnection();
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT fingerprint FROM seed_history ORDER BY applied_at DESC LIMIT 1")) {
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (Exception e) {
+            log.warn("[seed] query seed_history failed: {}", e.toString());
+            return null;
+        }
+    }
+
     private void truncateForReset(DataSource ds) {
         try (var con = ds.getConnection(); var st = con.createStatement()) {
             st.execute("TRUNCATE TABLE vector_store RESTART IDENTITY CASCADE");
@@ -233,7 +608,7 @@ public class DatasetLoader implements CommandLineRunner {
         try (Connection con = ds.getConnection();
                 PreparedStatement ps = con.prepareStatement("""
                             INSERT INTO seed_history(fingerprint) VALUES (?)
-                            ON CONFLICT (fingerprint) DO NOTHING
+                            ON CONFLICT (fingerprint) DO UPDATE SET applied_at = now()
                         """)) {
             ps.setString(1, fp);
             ps.executeUpdate();
@@ -242,8 +617,112 @@ public class DatasetLoader implements CommandLineRunner {
         }
     }
 
-    private static String stripBom(String s) {
-        return s == null ? null : s.replace("\uFEFF", "");
+    private String findFingerprintByManifest(DataSource ds, String manifest) {
+        try (Connection con = ds.getConnection();
+                PreparedStatement ps = con.prepareStatement("SELECT fingerprint FROM seed_manifest WHERE manifest = ?")) {
+            ps.setString(1, manifest);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (Exception e) {
+            log.warn("[seed] query seed_manifest failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    private void ensureSeedManifestTable(DataSource ds) {
+        try (var con = ds.getConnection(); var st = con.createStatement()) {
+            st.execute("""
+                        CREATE TABLE IF NOT EXISTS seed_manifest (
+                          manifest TEXT PRIMARY KEY,
+                          fingerprint TEXT NOT NULL,
+                          created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+                        )
+                    """);
+        } catch (Exception e) {
+            log.warn("[seed] ensure seed_manifest failed: {}", e.toString());
+        }
+    }
+
+    private void saveManifest(DataSource ds, String manifest, String fp) {
+        try (Connection con = ds.getConnection();
+                PreparedStatement ps = con.prepareStatement("""
+                            INSERT INTO seed_manifest(manifest, fingerprint) VALUES (?, ?)
+                            ON CONFLICT (manifest) DO UPDATE SET fingerprint = EXCLUDED.fingerprint
+                        """)) {
+            ps.setString(1, manifest);
+            ps.setString(2, fp);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            log.warn("[seed] upsert seed_manifest failed: {}", e.toString());
+        }
+    }
+
+    private void ensureSeedCheckpointTable(DataSource ds) {
+        try (var con = ds.getConnection(); var st = con.createStatement()) {
+            st.execute("""
+                        CREATE TABLE IF NOT EXISTS seed_checkpoint (
+                          fingerprint TEXT NOT NULL,
+                          file TEXT NOT NULL,
+                          completed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                          PRIMARY KEY (fingerprint, file)
+                        )
+                    """);
+        } catch (Exception e) {
+            log.warn("[seed] ensure seed_checkpoint failed: {}", e.toString());
+        }
+    }
+
+    private Set<String> loadCompletedFiles(DataSource ds, String fp) {
+        Set<String> files = new HashSet<>();
+        try (Connection con = ds.getConnection();
+                PreparedStatement ps = con.prepareStatement("SELECT file FROM seed_checkpoint WHERE fingerprint = ?")) {
+            ps.setString(1, fp);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    files.add(rs.getString(1));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[seed] query seed_checkpoint failed: {}", e.toString());
+        }
+        return files;
+    }
+
+    private void markSeedStarted(DataSource ds, String fp) {
+        markFileCompleted(ds, fp, STARTED_MARKER);
+    }
+
+    private boolean hasUnfinishedSeed(DataSource ds) {
+        try (Connection con = ds.getConnection();
+                PreparedStatement ps = con.prepareStatement("""
+                            SELECT 1 FROM seed_checkpoint c
+                            WHERE c.file = ?
+                              AND NOT EXISTS (SELECT 1 FROM seed_history h WHERE h.fingerprint = c.fingerprint)
+                            LIMIT 1
+                        """)) {
+            ps.setString(1, STARTED_MARKER);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (Exception e) {
+            log.warn("[seed] query seed_checkpoint failed: {}", e.toString());
+            return false;
+        }
+    }
+
+    private void markFileCompleted(DataSource ds, String fp, String file) {
+        try (Connection con = ds.getConnection();
+                PreparedStatement ps = con.prepareStatement("""
+                            INSERT INTO seed_checkpoint(fingerprint, file) VALUES (?, ?)
+                            ON CONFLICT (fingerprint, file) DO NOTHING
+                        """)) {
+            ps.setString(1, fp);
+            ps.setString(2, file);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            log.warn("[seed] upsert seed_checkpoint failed: {}", e.toString());
+        }
     }
 
     private static String normKey(String k) {
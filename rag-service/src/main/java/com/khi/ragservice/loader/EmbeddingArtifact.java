@@ -0,0 +1,292 @@
+package com.khi.ragservice.loader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 임베딩이 끝난 데이터셋 파일 형식 (vector_store 적재용, 임베딩 API 호출 불필요)
+ *
+ * <pre>
+ * header (little-endian)
+ *   magic "TTTE" 4B | version 2B | dimensions 4B | count 8B | records SHA-256 32B | model 길이 2B | model UTF-8
+ * record × count
+ *   id UUID 16B | content 길이 4B | content UTF-8 | metadata 길이 4B | metadata JSON UTF-8 | float32 × dimensions
+ * </pre>
+ *
+ * records SHA-256은 쓰는 동안 계산해 header에 기록하므로, 읽는 쪽은 파일 전체를 다시 해시하지 않고
+ * {@link Header#fingerprint()}를 시딩 fingerprint로 사용한다.
+ * 읽기는 파일을 구간 단위로 memory-map 하므로 2GB 이상 파일도 처리할 수 있다.
+ */
+public final class EmbeddingArtifact {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'T', 'T', 'T', 'E'};
+    private static final int COUNT_OFFSET = 10;
+    private static final int HASH_OFFSET = 18;
+    private static final int HASH_LENGTH = 32;
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    private EmbeddingArtifact() {
+    }
+
+    public record Header(int version, int dimensions, long count, String model, byte[] recordsHash) {
+
+        public String fingerprint() {
+            return "artifact-v" + version + ":" + HexFormat.of().formatHex(recordsHash);
+        }
+    }
+
+    public record Entry(UUID id, String content, String metadataJson, float[] embedding) {
+    }
+
+    public static Writer create(Path path, String model, int dimensions) throws IOException {
+        return new Writer(path, model, dimensions);
+    }
+
+    public static Reader open(Path path) throws IOException {
+        return new Reader(path, MAP_WINDOW);
+    }
+
+    /** map 구간 크기 지정 (구간 경계를 넘는 읽기 테스트용) */
+    static Reader open(Path path, long mapWindow) throws IOException {
+        return new Reader(path, mapWindow);
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final int dimensions;
+        private final MessageDigest digest;
+        private long count;
+
+        private Writer(Path path, String model, int dimensions) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.dimensions = dimensions;
+            this.digest = sha256();
+
+            byte[] modelBytes = model.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(HASH_OFFSET + HASH_LENGTH + 2 + modelBytes.length)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .put(MAGIC)
+                    .putShort((short) VERSION)
+                    .putInt(dimensions)
+                    .putLong(0L)
+                    .put(new byte[HASH_LENGTH])
+                    .putShort((short) modelBytes.length)
+                    .put(modelBytes)
+                    .flip();
+            writeFully(header);
+        }
+
+        public void write(Entry entry) throws IOException {
+            if (entry.embedding().length != dimensions) {
+                throw new IllegalArgumentException("embedding dimension mismatch - id: " + entry.id()
+                        + ", expected: " + dimensions + ", actual: " + entry.embedding().length);
+            }
+            byte[] content = entry.content().getBytes(StandardCharsets.UTF_8);
+            byte[] metadata = entry.metadataJson().getBytes(StandardCharsets.UTF_8);
+
+            ByteBuffer record = ByteBuffer.allocate(16 + 4 + content.length + 4 + metadata.length + dimensions * 4)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(entry.id().getMostSignificantBits())
+                    .putLong(entry.id().getLeastSignificantBits())
+                    .putInt(content.length)
+                    .put(content)
+                    .putInt(metadata.length)
+                    .put(metadata);
+            for (float v : entry.embedding()) {
+                record.putFloat(v);
+            }
+            record.flip();
+
+            digest.update(record.duplicate());
+            writeFully(record);
+            count++;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * 건수와 records 해시를 header에 기록하고 닫음
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                ByteBuffer countBuf = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(count).flip();
+                channel.write(countBuf, COUNT_OFFSET);
+                channel.write(ByteBuffer.wrap(digest.digest()), HASH_OFFSET);
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final long size;
+        private final Header header;
+        private final long mapWindow;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long position;
+        private long read;
+
+        private Reader(Path path, long mapWindow) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = channel.size();
+            this.mapWindow = mapWindow;
+
+            ensure(HASH_OFFSET + HASH_LENGTH + 2);
+            byte[] magic = new byte[MAGIC.length];
+            window.get(magic);
+            if (!java.util.Arrays.equals(magic, MAGIC)) {
+                close();
+                throw new IOException("not an embedding artifact: " + path);
+            }
+            int version = Short.toUnsignedInt(window.getShort());
+            if (version != VERSION) {
+                close();
+                throw new IOException("unsupported embedding artifact version: " + version);
+            }
+            int dimensions = window.getInt();
+            long count = window.getLong();
+            byte[] hash = new byte[HASH_LENGTH];
+            window.get(hash);
+            int modelLength = Short.toUnsignedInt(window.getShort());
+            advance(HASH_OFFSET + HASH_LENGTH + 2);
+
+            ensure(modelLength);
+            byte[] model = new byte[modelLength];
+            window.get(model);
+            advance(modelLength);
+
+            this.header = new Header(version, dimensions, count, new String(model, StandardCharsets.UTF_8), hash);
+        }
+
+        public Header header() {
+            return header;
+        }
+
+        public boolean hasNext() {
+            return read < header.count();
+        }
+
+        public Entry next() throws IOException {
+            ensure(16 + 4);
+            UUID id = new UUID(window.getLong(), window.getLong());
+            int contentLength = window.getInt();
+            advance(20);
+            String content = readString(contentLength);
+
+            ensure(4);
+            int metadataLength = window.getInt();
+            advance(4);
+            String metadata = readString(metadataLength);
+
+            int vectorBytes = header.dimensions() * 4;
+            ensure(vectorBytes);
+            float[] embedding = new float[header.dimensions()];
+            window.asFloatBuffer().get(embedding);
+            window.position(window.position() + vectorBytes);
+            advance(vectorBytes);
+
+            read++;
+            return new Entry(id, content, metadata, embedding);
+        }
+
+        /**
+         * 다음 레코드를 디코딩하지 않고 건너뜀 (길이 필드만 읽음)
+         */
+        public void skip() throws IOException {
+            ensure(16 + 4);
+            window.position(window.position() + 16);
+            int contentLength = window.getInt();
+            advance(20);
+            skipBytes(contentLength);
+
+            ensure(4);
+            int metadataLength = window.getInt();
+            advance(4);
+            skipBytes(metadataLength + (long) header.dimensions() * 4);
+
+            read++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            window = null;
+            channel.close();
+        }
+
+        private String readString(int length) throws IOException {
+            ensure(length);
+            byte[] bytes = new byte[length];
+            window.get(bytes);
+            advance(length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 현재 위치에서 n바이트를 읽을 수 있도록 필요하면 다음 구간을 다시 map
+         */
+        private void ensure(long n) throws IOException {
+            if (position + n > size) {
+                throw new IOException("truncated embedding artifact at offset " + position);
+            }
+            if (window == null || position + n > windowStart + window.capacity()) {
+                windowStart = position;
+                long length = Math.min(size - position, Math.max(n, mapWindow));
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+                window.order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        private void skipBytes(long n) throws IOException {
+            if (position + n > size) {
+                throw new IOException("truncated embedding artifact at offset " + position);
+            }
+            if (position + n <= windowStart + window.capacity()) {
+                window.position(window.position() + (int) n);
+            } else {
+                // 현재 구간을 벗어나면 다음 ensure에서 새 위치로 다시 map
+                window = null;
+            }
+            advance(n);
+        }
+
+        private void advance(long n) {
+            position += n;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
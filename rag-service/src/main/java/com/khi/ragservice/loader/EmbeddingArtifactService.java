@@ -0,0 +1,102 @@
+package com.khi.ragservice.loader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+/**
+ * 임베딩 artifact 내보내기 / 검증
+ * 한 번 임베딩해 적재한 vector_store를 {@link EmbeddingArtifact} 파일로 내보내고,
+ * 가져오기 전에 현재 설정된 임베딩 모델/차원과 맞는지 확인한다.
+ */
+@Slf4j
+@Component
+public class EmbeddingArtifactService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final String model;
+    private final int dimensions;
+
+    public EmbeddingArtifactService(DataSource dataSource,
+                                    @Value("${spring.ai.openai.embedding.options.model:}") String model,
+                                    @Value("${spring.ai.vectorstore.pgvector.dimensions:1536}") int dimensions) {
+        this.dataSource = dataSource;
+        this.model = model;
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * 다른 모델/차원으로 만든 벡터를 넣으면 검색 임베딩과 비교할 수 없으므로 거부
+     */
+    public void validate(EmbeddingArtifact.Header header) {
+        if (header.dimensions() != dimensions) {
+            throw new IllegalStateException("embedding artifact dimensions " + header.dimensions()
+                    + " != configured " + dimensions);
+        }
+        if (!model.isBlank() && !model.equals(header.model())) {
+            throw new IllegalStateException("embedding artifact model " + header.model()
+                    + " != configured " + model);
+        }
+    }
+
+    /**
+     * vector_store 전체를 artifact 파일로 저장. 임시 파일에 쓴 뒤 이동하므로 중간 상태 파일이 남지 않음
+     */
+    public long export(Path path) throws Exception {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long count;
+        try (EmbeddingArtifact.Writer writer = EmbeddingArtifact.create(tmp, model, dimensions);
+                Connection con = dataSource.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            // PostgreSQL은 autocommit이 꺼져 있어야 fetch size 단위로 커서를 읽음
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, content, metadata::text, embedding::text FROM vector_store ORDER BY id")) {
+                ps.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        writer.write(new EmbeddingArtifact.Entry(
+                                UUID.fromString(rs.getString(1)),
+                                rs.getString(2),
+                                rs.getString(3),
+                                parseVector(rs.getString(4))));
+                    }
+                }
+            } finally {
+                con.commit();
+                con.setAutoCommit(autoCommit);
+            }
+            count = writer.count();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        log.info("[seed] embedding artifact exported - path: {}, records: {}", path, count);
+        return count;
+    }
+
+    /**
+     * pgvector 텍스트 표현("[0.1,0.2,...]")을 float 배열로 변환
+     */
+    public static float[] parseVector(String literal) throws IOException {
+        if (literal == null || literal.length() < 2) {
+            throw new IOException("invalid vector literal");
+        }
+        String[] parts = literal.substring(1, literal.length() - 1).split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i]);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,47 @@
+package com.khi.ragservice.loader;
+
+import com.khi.ragservice.enums.SeedState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * vector index 사용 가능 여부 (readiness 그룹에 포함)
+ * 시딩하는 인스턴스는 적재가 끝난 뒤 UP, 시딩하지 않는 인스턴스는 vector_store에 데이터가 생기면 UP
+ */
+@Component
+@RequiredArgsConstructor
+public class VectorIndexHealthIndicator implements HealthIndicator {
+
+    private final DatasetLoader datasetLoader;
+
+    /** 한 번 채워진 것을 확인하면 더 이상 조회하지 않음 */
+    private volatile boolean externalReady;
+
+    @Override
+    public Health health() {
+        SeedState state = datasetLoader.getState();
+        return switch (state) {
+            case READY -> Health.up().withDetail("seed", state).build();
+            case EXTERNAL -> isExternalReady()
+                    ? Health.up().withDetail("seed", state).build()
+                    : Health.outOfService().withDetail("seed", state).withDetail("vectorStore", "empty").build();
+            case FAILED -> Health.down().withDetail("seed", state)
+                    .withDetail("error", String.valueOf(datasetLoader.getLastError())).build();
+            default -> Health.outOfService().withDetail("seed", state).build();
+        };
+    }
+
+    public boolean isReady() {
+        SeedState state = datasetLoader.getState();
+        return state == SeedState.READY || (state == SeedState.EXTERNAL && isExternalReady());
+    }
+
+    private boolean isExternalReady() {
+        if (!externalReady && datasetLoader.isVectorStoreNotEmpty()) {
+            externalReady = true;
+        }
+        return externalReady;
+    }
+}
@@ -0,0 +1,169 @@
+package com.khi.ragservice.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "tictactalk.rag")
+public class RagProperties {
+
+    /** 메시지당 가져올 RAG 항목 개수 */
+    private int topK = 3;
+
+    /** 임베딩 API 한 번에 보낼 메시지 수 */
+    private int embeddingBatchSize = 128;
+
+    /** pgvector 멀티 쿼리 한 번에 검색할 메시지 수 */
+    private int searchBatchSize = 64;
+
+    private Cache cache = new Cache();
+
+    private Filter filter = new Filter();
+
+    private Gpt gpt = new Gpt();
+
+    private Analysis analysis = new Analysis();
+
+    private Job job = new Job();
+
+    private Seed seed = new Seed();
+
+    private Index index = new Index();
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /** in-process LRU 최대 항목 수 */
+        private int embeddingMaxEntries = 20_000;
+        private int resultMaxEntries = 20_000;
+
+        /** Redis 2차 캐시 사용 여부 */
+        private boolean redisEnabled = false;
+        private String redisKeyPrefix = "rag:cache:";
+        private Duration redisTtl = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Filter {
+
+        private boolean enabled = true;
+
+        /** 자모/이모지/기호를 제외한 최소 글자 수 (미만이면 검색 생략) */
+        private int minContentChars = 2;
+
+        /**
+         * 웃음/울음만으로 이루어진 메시지 패턴 (공백 제거 후 전체 일치)
+         * 자모(ㅋ, ㅎ, ㅠ 등) 연속이거나, 같은 웃음 음절이 2번 이상 반복된 구간으로만 이루어진 경우.
+         * "하키"처럼 웃음 음절이 섞인 실제 단어는 걸리지 않음
+         */
+        private String laughterPattern = "^(?:[ㅋㅎㅠㅜㄷ]+|([하허히호헤크키킥큭후흐])\\1+)+$";
+
+        /** 검색을 생략할 맞장구/짧은 응답 */
+        private List<String> stopPhrases = new ArrayList<>(List.of(
+                "응", "웅", "엉", "어", "네", "넵", "넹", "예", "ㅇㅇ", "ㅇㅋ",
+                "오키", "오케이", "ok", "okay", "헐", "대박", "아하", "그렇구나"));
+    }
+
+    @Data
+    public static class Gpt {
+
+        /** 긴 대화에 대해 구간별 map → reduce 방식으로 보고서 생성 */
+        private boolean mapReduceEnabled = true;
+
+        /** 메시지 수가 이 값 이상일 때만 map-reduce 사용 */
+        private int mapReduceThreshold = 120;
+
+        /** map 단계 구간당 메시지 수 */
+        private int windowSize = 60;
+
+        /** 동시에 실행할 map 호출 수 */
+        private int mapConcurrency = 4;
+
+        /** map 호출 대기열 최대 길이. 가득 차면 해당 보고서 작업은 실패 후 재시도 대기열로 돌아감 */
+        private int mapQueueCapacity = 256;
+
+        /** 보고서 하나의 map 단계 전체 제한 시간 (구간별이 아니라 모든 구간 합산) */
+        private Duration mapTimeout = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Analysis {
+
+        /** 보고서 분석 작업 executor 크기. ReportJobWorker는 core 스레드 수만큼만 작업을 점유함 */
+        private int corePoolSize = 2;
+        private int maxPoolSize = 4;
+
+        /** executor 내부 대기열 최대 길이 */
+        private int queueCapacity = 50;
+    }
+
+    @Data
+    public static class Job {
+
+        /** report_jobs 테이블 polling 사용 여부 (false면 이 인스턴스는 작업을 가져가지 않음) */
+        private boolean enabled = true;
+
+        /** 한 번의 polling에서 가져올 최대 작업 수 */
+        private int claimBatchSize = 4;
+
+        /** 작업 점유 시간. 이 시간 안에 끝나지 않으면 다른 워커가 다시 가져감 */
+        private Duration leaseTimeout = Duration.ofMinutes(20);
+
+        /** 최대 시도 횟수 (초과 시 보고서를 FAILED로 표시) */
+        private int maxAttempts = 5;
+
+        /** 재시도 대기 시간 (시도마다 2배, maxBackoff까지) */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+        private Duration maxBackoff = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Seed {
+
+        /** false면 이 인스턴스는 시딩하지 않음 (별도 시딩 작업/다른 인스턴스가 적재) */
+        private boolean enabled = true;
+
+        /** true면 기동을 막지 않고 백그라운드에서 시딩. readiness는 적재 완료 후 UP */
+        private boolean background = true;
+
+        /** 임베딩 + 적재를 동시에 수행할 워커 수 */
+        private int workers = 4;
+
+        /** 임베딩 API 한 번에 보낼 문서 수 (= COPY 한 번의 행 수) */
+        private int batchSize = 256;
+
+        /** 동시에 메모리에 올라가 있을 수 있는 최대 배치 수. 파일 읽기가 워커보다 앞서가지 않도록 제한 */
+        private int maxInFlightBatches = 8;
+
+        /** 미리 임베딩된 artifact 파일 경로. 있으면 데이터셋 파일 대신 이 파일로 적재 (임베딩 API 호출 없음) */
+        private String artifactPath;
+
+        /** 데이터셋 파일로 적재를 마친 뒤 vector_store를 artifact로 내보낼 경로 */
+        private String exportPath;
+    }
+
+    @Data
+    public static class Index {
+
+        /** true면 vector_store 전체를 메모리 HNSW 인덱스로 올려 검색 (pgvector는 원본 + 빌드 전/실패 시 fallback) */
+        private boolean enabled = false;
+
+        /** 노드당 이웃 수 (layer 0은 2배) */
+        private int m = 16;
+
+        /** 빌드 시 탐색 후보 수. 클수록 recall이 오르고 빌드가 느려짐 */
+        private int efConstruction = 100;
+
+        /** 검색 시 탐색 후보 수 (topK보다 작으면 topK 사용) */
+        private int efSearch = 64;
+
+        /** 빌드 병렬도. 0이면 CPU 코어 수 */
+        private int buildThreads = 0;
+    }
+}
@@ -22,6 +22,8 @@ public interface ConversationReportRepository extends JpaRepository<Conversation
         Optional<ConversationReport> findFirstByUser1IdAndUser2IdAndStateOrderByCreatedAtDesc(
                         String user1Id, String user2Id, ReportState state);
 
+        boolean existsByIdAndState(Long id, ReportState state);
+
         @Query(value = "SELECT * FROM conversation_reports c WHERE " +
                         "((c.user1_id = :userId1 AND c.user2_id = :userId2) OR " +
                         "(c.user1_id = :userId2 AND c.user2_id = :userId1)) AND " +
@@ -52,4 +54,8 @@ public interface ConversationReportRepository extends JpaRepository<Conversation
                         @Param("state") String state,
                         @Param("sourceType") String sourceType,
                         @Param("isNameUpdated") Boolean isNameUpdated);
+
+        @Modifying
+        @Query("UPDATE ConversationReport c SET c.state = :state WHERE c.id = :id")
+        int updateState(@Param("id") Long id, @Param("state") ReportState state);
 }
@@ -0,0 +1,30 @@
+package com.khi.ragservice.repository;
+
+import com.khi.ragservice.entity.ReportJob;
+import com.khi.ragservice.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+        Optional<ReportJob> findByReportId(Long reportId);
+
+        long countByStatus(ReportJobStatus status);
+
+        /**
+         * 실행 가능한 작업(대기 시간이 지난 QUEUED, 점유 시간이 만료된 RUNNING)을 잠금과 함께 조회.
+         * SKIP LOCKED로 여러 워커가 동시에 polling 해도 같은 작업을 중복으로 가져가지 않음
+         */
+        @Query(value = "SELECT * FROM report_jobs WHERE " +
+                        "(status = 'QUEUED' AND next_run_at <= :now) OR " +
+                        "(status = 'RUNNING' AND lease_until < :now) " +
+                        "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        List<ReportJob> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
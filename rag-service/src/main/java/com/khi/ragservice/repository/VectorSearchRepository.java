@@ -0,0 +1,103 @@
+package com.khi.ragservice.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * vector_store 테이블에 대한 멀티 쿼리 top-K 검색
+ * 여러 메시지의 임베딩을 한 번의 SQL로 보내 LATERAL JOIN으로 메시지별 HNSW 검색을 수행한다.
+ * 거리 연산자는 application.yml의 COSINE_DISTANCE 설정과 동일한 {@code <=>}를 사용한다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class VectorSearchRepository {
+
+    private static final String MULTI_QUERY_SQL = """
+            SELECT q.idx, v.id, v.content, v.metadata::text AS metadata, v.distance
+            FROM unnest(?::text[]) WITH ORDINALITY AS q(vec, idx)
+            CROSS JOIN LATERAL (
+                SELECT id, content, metadata, embedding <=> q.vec::vector AS distance
+                FROM vector_store
+                ORDER BY embedding <=> q.vec::vector
+                LIMIT ?
+            ) v
+            ORDER BY q.idx, v.distance
+            """;
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param embeddings 검색할 쿼리 임베딩 목록
+     * @param k          쿼리당 가져올 문서 수
+     * @return 입력 순서와 같은 순서의 쿼리별 검색 결과 (score = 1 - cosine distance)
+     */
+    public List<List<Document>> searchTopK(List<float[]> embeddings, int k) {
+        List<List<Document>> results = new ArrayList<>(embeddings.size());
+        for (int i = 0; i < embeddings.size(); i++) {
+            results.add(new ArrayList<>(k));
+        }
+        if (embeddings.isEmpty()) {
+            return results;
+        }
+
+        String[] literals = new String[embeddings.size()];
+        for (int i = 0; i < embeddings.size(); i++) {
+            literals[i] = toVectorLiteral(embeddings.get(i));
+        }
+
+        jdbcTemplate.query(MULTI_QUERY_SQL, ps -> {
+            Array array = ps.getConnection().createArrayOf("text", literals);
+            ps.setArray(1, array);
+            ps.setInt(2, k);
+        }, rs -> {
+            int idx = rs.getInt("idx") - 1;
+            double distance = rs.getDouble("distance");
+            Document doc = Document.builder()
+                    .id(rs.getString("id"))
+                    .text(rs.getString("content"))
+                    .metadata(parseMetadata(rs.getString("metadata")))
+                    .score(1.0 - distance)
+                    .build();
+            results.get(idx).add(doc);
+        });
+        return results;
+    }
+
+    private Map<String, Object> parseMetadata(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, METADATA_TYPE);
+        } catch (Exception e) {
+            log.warn("[RAG] metadata parse failed: {}", e.toString());
+            return Map.of();
+        }
+    }
+
+    private static String toVectorLiteral(float[] embedding) {
+        StringBuilder sb = new StringBuilder(embedding.length * 12);
+        sb.append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append(embedding[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.khi.ragservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * vector_store 대량 적재
+ * 임베딩이 끝난 문서를 COPY로 임시 테이블에 넣은 뒤 한 번의 INSERT ... SELECT로 옮긴다.
+ * id가 이미 있으면 건너뛰므로 같은 배치를 다시 넣어도 중복이 생기지 않음 (시딩 재개 시 사용)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class VectorStoreBulkWriter {
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE vector_store_seed (LIKE vector_store INCLUDING DEFAULTS) ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+            "COPY vector_store_seed (id, content, metadata, embedding) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL =
+            "INSERT INTO vector_store (id, content, metadata, embedding) " +
+            "SELECT id, content, metadata, embedding FROM vector_store_seed " +
+            "ON CONFLICT (id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param documents  id가 지정된 문서
+     * @param embeddings documents와 같은 순서의 임베딩
+     * @return 새로 추가된 행 수
+     */
+    public int insert(List<Document> documents, List<float[]> embeddings) {
+        if (documents.size() != embeddings.size()) {
+            throw new IllegalArgumentException("documents/embeddings size mismatch: "
+                    + documents.size() + " / " + embeddings.size());
+        }
+        if (documents.isEmpty()) {
+            return 0;
+        }
+
+        String csv = toCsv(documents, embeddings);
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (Statement st = con.createStatement()) {
+                st.execute(CREATE_STAGING_SQL);
+                con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv));
+                int rows = st.executeUpdate(MERGE_SQL);
+                con.commit();
+                return rows;
+            } catch (SQLException | IOException e) {
+                con.rollback();
+                throw e instanceof SQLException sql ? sql : new SQLException("COPY into vector_store_seed failed", e);
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private String toCsv(List<Document> documents, List<float[]> embeddings) {
+        StringBuilder sb = new StringBuilder(documents.size() * 20_000);
+        for (int i = 0; i < documents.size(); i++) {
+            Document doc = documents.get(i);
+            sb.append(doc.getId()).append(',');
+            appendQuoted(sb, doc.getText());
+            sb.append(',');
+            appendQuoted(sb, toJson(doc));
+            sb.append(',');
+            appendVector(sb, embeddings.get(i));
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String toJson(Document doc) {
+        try {
+            return objectMapper.writeValueAsString(doc.getMetadata());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("metadata serialize failed - id: " + doc.getId(), e);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder sb, String value) {
+        sb.append('"');
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    sb.append('"');
+                }
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private static void appendVector(StringBuilder sb, float[] embedding) {
+        sb.append("\"[");
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append(embedding[i]);
+        }
+        sb.append("]\"");
+    }
+}
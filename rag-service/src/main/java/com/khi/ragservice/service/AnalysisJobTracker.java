@@ -0,0 +1,100 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.dto.AnalysisExecutorStatusDto;
+import com.khi.ragservice.dto.AnalysisJobDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 보고서 분석 작업(ragAnalysisExecutor)의 대기/실행 상태와 단계별 소요 시간을 추적
+ */
+@Slf4j
+@Component
+public class AnalysisJobTracker {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+
+    private final Map<Long, AnalysisJobDto> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor ragAnalysisExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public AnalysisJobTracker(@Qualifier("ragAnalysisExecutor") ThreadPoolTaskExecutor ragAnalysisExecutor,
+                              MeterRegistry meterRegistry) {
+        this.ragAnalysisExecutor = ragAnalysisExecutor;
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("rag.analysis.queue.wait").register(meterRegistry);
+        this.rejected = Counter.builder("rag.analysis.rejected").register(meterRegistry);
+        meterRegistry.gauge("rag.analysis.queue.size", ragAnalysisExecutor,
+                executor -> executor.getThreadPoolExecutor().getQueue().size());
+        meterRegistry.gauge("rag.analysis.active", ragAnalysisExecutor, ThreadPoolTaskExecutor::getActiveCount);
+    }
+
+    public void enqueued(Long reportId) {
+        jobs.put(reportId, new AnalysisJobDto(reportId, QUEUED, null, LocalDateTime.now(), null));
+    }
+
+    public void started(Long reportId) {
+        AnalysisJobDto job = jobs.computeIfAbsent(reportId,
+                id -> new AnalysisJobDto(id, QUEUED, null, LocalDateTime.now(), null));
+        job.setStatus(RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        queueWait.record(Duration.between(job.getEnqueuedAt(), job.getStartedAt()));
+    }
+
+    public void stage(Long reportId, String stage) {
+        AnalysisJobDto job = jobs.get(reportId);
+        if (job != null) {
+            job.setStage(stage);
+        }
+    }
+
+    /**
+     * 단계별 소요 시간 기록 (rag.analysis.stage{stage})
+     */
+    public void recordStage(String stage, long nanos) {
+        Timer.builder("rag.analysis.stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    public void finished(Long reportId, boolean success) {
+        jobs.remove(reportId);
+        meterRegistry.counter("rag.analysis.finished", "result", success ? "success" : "failure").increment();
+    }
+
+    public void rejected(Long reportId) {
+        jobs.remove(reportId);
+        rejected.increment();
+        log.warn("[RAG][JOB] analysis rejected - reportId: {}, queue full", reportId);
+    }
+
+    public AnalysisExecutorStatusDto snapshot() {
+        List<AnalysisJobDto> list = jobs.values().stream()
+                .sorted(Comparator.comparing(AnalysisJobDto::getEnqueuedAt))
+                .toList();
+        return new AnalysisExecutorStatusDto(
+                ragAnalysisExecutor.getActiveCount(),
+                ragAnalysisExecutor.getPoolSize(),
+                ragAnalysisExecutor.getMaxPoolSize(),
+                ragAnalysisExecutor.getThreadPoolExecutor().getQueue().size(),
+                ragAnalysisExecutor.getQueueCapacity(),
+                (long) rejected.count(),
+                list);
+    }
+}
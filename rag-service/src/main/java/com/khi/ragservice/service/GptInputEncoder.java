@@ -0,0 +1,127 @@
+package com.khi.ragservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * messages_with_rag를 GPT 입력용 압축 포맷으로 변환
+ * - 발화자: userId/name 반복 대신 별칭("A" = user1, "B" = user2)과 speakers 테이블
+ * - RAG 항목: 메시지마다 반복되던 데이터셋 문장을 refs 테이블로 중복 제거하고 번호로 참조
+ * - GPT가 사용하지 않는 id, label_id, score 필드는 제외 (r은 유사도 순서 유지)
+ */
+@Component
+public class GptInputEncoder {
+
+    /**
+     * @return { speakers, refs, messages } 형태의 압축 입력 (수정 가능한 Map)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> encode(String user1Id, String user2Id, List<Map<String, Object>> messagesWithRag) {
+        Map<String, String> aliases = assignAliases(user1Id, user2Id, messagesWithRag);
+
+        Map<String, Integer> refIdByKey = new HashMap<>();
+        Map<String, Object> refs = new LinkedHashMap<>();
+        List<Map<String, Object>> messages = new ArrayList<>(messagesWithRag.size());
+
+        for (Map<String, Object> message : messagesWithRag) {
+            Map<String, Object> compact = new LinkedHashMap<>();
+            compact.put("s", aliases.get(speakerKey(message)));
+            compact.put("m", message.get("message"));
+
+            List<Map<String, Object>> ragItems = (List<Map<String, Object>>) message.get("rag_items");
+            if (ragItems != null && !ragItems.isEmpty()) {
+                List<Integer> refIds = new ArrayList<>(ragItems.size());
+                for (Map<String, Object> item : ragItems) {
+                    String label = String.valueOf(item.get("label"));
+                    String text = String.valueOf(item.get("text"));
+                    Integer refId = refIdByKey.get(label + "\u0000" + text);
+                    if (refId == null) {
+                        refId = refIdByKey.size() + 1;
+                        refIdByKey.put(label + "\u0000" + text, refId);
+                        Map<String, Object> ref = new LinkedHashMap<>();
+                        ref.put("label", label);
+                        ref.put("text", text);
+                        refs.put(String.valueOf(refId), ref);
+                    }
+                    refIds.add(refId);
+                }
+                compact.put("r", refIds);
+            }
+            messages.add(compact);
+        }
+
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("speakers", buildSpeakers(aliases, messagesWithRag));
+        input.put("refs", refs);
+        input.put("messages", messages);
+        return input;
+    }
+
+    /**
+     * 별칭 → 이름 매핑만 생성 (map-reduce의 reduce 입력용)
+     */
+    public Map<String, String> encodeSpeakers(String user1Id, String user2Id, List<Map<String, Object>> messagesWithRag) {
+        return buildSpeakers(assignAliases(user1Id, user2Id, messagesWithRag), messagesWithRag);
+    }
+
+    /**
+     * 대략적인 토큰 수 추정 (ASCII 약 4자당 1토큰, 한글 등 비ASCII 문자는 1자당 1토큰)
+     */
+    public static int estimateTokens(String json) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < json.length(); i++) {
+            if (json.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return ascii / 4 + other;
+    }
+
+    private static Map<String, String> assignAliases(String user1Id, String user2Id,
+                                                     List<Map<String, Object>> messagesWithRag) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        if (user1Id != null) {
+            aliases.put(user1Id, "A");
+        }
+        if (user2Id != null) {
+            aliases.putIfAbsent(user2Id, "B");
+        }
+        char next = 'C';
+        for (Map<String, Object> message : messagesWithRag) {
+            String key = speakerKey(message);
+            if (!aliases.containsKey(key)) {
+                aliases.put(key, String.valueOf(next++));
+            }
+        }
+        return aliases;
+    }
+
+    private static Map<String, String> buildSpeakers(Map<String, String> aliases,
+                                                     List<Map<String, Object>> messagesWithRag) {
+        Map<String, String> names = new HashMap<>();
+        for (Map<String, Object> message : messagesWithRag) {
+            Object name = message.get("name");
+            if (name != null) {
+                names.putIfAbsent(speakerKey(message), String.valueOf(name));
+            }
+        }
+        Map<String, String> speakers = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            speakers.put(entry.getValue(), names.getOrDefault(entry.getKey(), entry.getValue()));
+        }
+        return speakers;
+    }
+
+    private static String speakerKey(Map<String, Object> message) {
+        Object userId = message.get("userId");
+        return userId != null ? String.valueOf(userId) : String.valueOf(message.get("name"));
+    }
+}
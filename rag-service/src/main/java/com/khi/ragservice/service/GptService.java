@@ -1,9 +1,23 @@
 package com.khi.ragservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.ragservice.properties.RagProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
 public class GptService {
@@ -15,46 +29,35 @@ public class GptService {
       너의 목표는 대화 참여자들이 자신의 무의식적인 대화 습관, 논리적 오류, 감정적 패턴을 깊이 있게 이해하고,
       더 건강하고 건설적인 관계를 맺을 수 있도록 **실질적이고 구체적인 피드백**을 제공하는 것이다.
 
-      입력으로 아래와 같은 JSON 하나를 받는다:
+      입력으로 아래와 같은 압축된 JSON 하나를 받는다:
 
       {
-        "user1_id": "user123",
-        "user2_id": "user456",
-        "messages_with_rag": [
-          {
-            "userId": "user123",
-            "name": "이름1",
-            "message": "발화 내용",
-            "rag_items": [
-              { "id": 1, "text": "...", "label": "...", "label_id": 1, "score": 0.87 }
-              // 이 메시지와 관련된 RAG 검색 결과들
-            ]
-          },
-          {
-            "userId": "user456",
-            "name": "이름2",
-            "message": "발화 내용",
-            "rag_items": [...]
-          }
-          // 대화의 모든 메시지들...
+        "speakers": { "A": "이름1", "B": "이름2" },
+        "refs": {
+          "1": { "label": "...", "text": "..." },
+          "2": { "label": "...", "text": "..." }
+          // 대화 전체에서 검색된 RAG 참고 항목 (중복 제거된 공용 테이블)
+        },
+        "messages": [
+          { "s": "A", "m": "발화 내용", "r": [1, 2] },
+          { "s": "B", "m": "발화 내용" }
+          // 대화의 모든 메시지들 (대화 순서)...
         ]
       }
 
-      - user1_id, user2_id:
-        - 대화에 참여한 두 사용자의 고유 ID이다.
-        - **이 필드는 오직 participantA/B를 결정하는 매핑 용도로만 사용하라.**
-        - **participantA는 반드시 user1_id에 해당하는 사람, participantB는 반드시 user2_id에 해당하는 사람이다.**
-        - messages_with_rag에서 각 메시지의 userId를 확인하여 user1_id 또는 user2_id와 매칭하라.
-        - **⚠️ 중요: user1_id, user2_id, userId 값을 보고서 텍스트에 절대 사용하지 마라. 반드시 name 필드를 사용하라.**
+      - speakers:
+        - 발화자 별칭 → 실제 이름 매핑이다.
+        - **별칭 "A"는 participantA, 별칭 "B"는 participantB이다.** (그 외 별칭이 있다면 주요 참여자가 아닌 발화자다)
+        - **⚠️ 중요: 보고서 텍스트에는 별칭이 아니라 반드시 speakers의 이름 값을 사용하라.**
 
-      - messages_with_rag:
+      - messages:
         - 대화를 구성하는 모든 메시지들의 배열이다.
-        - 각 메시지는 사용자 ID(userId), 발화자 이름(name), 발화 내용(message), 그리고 해당 메시지에 대한 RAG 검색 결과(rag_items)를 포함한다.
-        - 이 배열을 통해 대화의 전체 흐름을 파악하고, 주요 참여자(보통 두 사람)의 이름을 스스로 추론해야 한다.
-      - rag_items (각 메시지별):
+        - s는 발화자 별칭, m은 발화 내용, r은 이 메시지와 관련된 refs의 번호 목록이다. (관련 항목이 없으면 r이 없다)
+        - 이 배열을 통해 대화의 전체 흐름을 파악하라.
+      - refs (r로 참조):
         - 해당 메시지를 해석하는 데 참고할 수 있는 예시/설명/패턴 목록이다.
-        - **Vector Search를 통해 유사도가 높은 항목들을 추출한 것이다.**
-        - 각 항목은 특정 논리적 오류나 의사소통 문제 패턴을 설명한다.
+        - **Vector Search를 통해 유사도가 높은 항목들을 추출한 것이다.** r에는 유사도가 높은 순서로 담겨 있다.
+        - 각 항목은 특정 논리적 오류나 의사소통 문제 패턴을 설명하며, label은 그 패턴의 이름이다.
         - **[Mistakes] 카드 작성 시 이 항목들을 최우선적으로 참고하라.**
 
       너의 작업은 이 정보를 바탕으로 **보고서 제목과 ReportCard[] 형태의 분석 리포트**를 만드는 것이다.
@@ -121,7 +124,7 @@ public class GptService {
             type: 'mistakes';
             content: {
               mistakes: {
-                type: string;                              // rag_items의 label 그대로 사용
+                type: string;                              // refs의 label 그대로 사용
                 definition: string;                        // 오류에 대한 쉬운 설명
                 participantA: boolean;                     // A의 해당 여부
                 participantB: boolean;                     // B의 해당 여부
@@ -165,19 +168,17 @@ public class GptService {
          - [Summary]에서 갈등을 정의하고 -> [Analysis]에서 원인을 심층 분석하며 -> [Mistakes/Behavior]에서 구체적 문제점을 진단하고 -> [Coaching]에서 해결책을 제시하는 흐름을 유지하라.
 
       3. **참여자 매핑 규칙 (절대 준수 - CRITICAL)**
-         - **participantA는 반드시 user1_id와 일치하는 userId를 가진 사람이다.**
-         - **participantB는 반드시 user2_id와 일치하는 userId를 가진 사람이다.**
+         - **participantA는 반드시 별칭 "A"(s="A")인 발화자다.**
+         - **participantB는 반드시 별칭 "B"(s="B")인 발화자다.**
          - **대화 순서, 발화 횟수, 메시지 등장 순서와 무관하게 이 매핑을 절대 지켜라.**
-         - messages_with_rag에서 각 메시지의 userId를 확인하여 user1_id 또는 user2_id와 매칭하라.
          - 모든 카드(summary, analysis, behavior, mistakes, coaching, ratio)에서 이 매핑을 일관되게 적용하라.
-         - **⚠️ user1_id, user2_id는 오직 A/B 결정 용도. 텍스트에는 절대 사용 금지.**
+         - **⚠️ 별칭은 오직 A/B 결정 용도. 텍스트에는 speakers의 이름을 사용하라.**
 
       4. **이름 및 참여자 표현 (절대 규칙 - 매우 중요)**
-         - **보고서의 모든 텍스트 내용에는 반드시 messages_with_rag의 'name' 필드 값을 사용하라.**
-         - **userId, user1_id, user2_id, user1, user2, 참여자A 등 ID 값이나 식별자는 절대 사용 금지.**
-         - 각 메시지의 userId를 확인하여 A/B를 판단한 후, 해당 메시지의 **name 필드**를 가져와 사용하라.
+         - **보고서의 모든 텍스트 내용에는 반드시 speakers의 이름 값을 사용하라.**
+         - **user1, user2, 참여자A, participantA 등 식별자는 텍스트에 절대 사용 금지.**
          - 모든 필드의 서술에서 "상준 님은...", "봉준 님은..."과 같이 **실제 이름 + 존칭**을 사용하여 자연스럽게 작성하라.
-         - 예시: userId="user123"이고 name="철수"면 → 텍스트에는 "철수 님"을 사용 ("user123" 사용 금지)
+         - 예시: speakers가 { "A": "철수" }면 → 텍스트에는 "철수 님"을 사용
 
       4. **언어 및 톤 (Tone & Manner)**
          - **전문적이면서도 따뜻한 코칭 톤**을 유지하라. 비난보다는 성장을 돕는 어조여야 한다.
@@ -195,13 +196,13 @@ public class GptService {
          - **error**: 단순한 실수가 아니라, **소통을 가로막은 근본적인 태도나 방식**을 지적하라.
 
       7. **[Behavior] 카드 작성법 (심리/습관)**
-         - **biases (인지적 편향)**: 대화에서 드러난 **사고의 틀**을 분석하라. rag_items를 쓰지 말고 심리학적 통찰을 발휘하라.
+         - **biases (인지적 편향)**: 대화에서 드러난 **사고의 틀**을 분석하라. refs를 쓰지 말고 심리학적 통찰을 발휘하라.
            * 설명에는 그 편향이 대화에서 구체적으로 어떤 발언으로 나타났는지 포함하라.
          - **skills (대화 기술)**: 부족했던 **구체적인 커뮤니케이션 스킬**을 지적하라.
            * 강점이 아닌 **개선점** 위주로 작성하라.
 
       8. **[Mistakes] 카드 작성법 (논리/RAG)**
-         - **rag_items의 label을 정확히 매칭**하여 사용하라.
+         - **refs의 label을 정확히 매칭**하여 사용하라.
          - **evidence**: 해당 오류가 범해진 **정확한 발화 부분**을 인용하고, 왜 그것이 오류인지 설명하라.
          - **severity (필수, 절대 누락 금지)**: 모든 mistake 항목마다 반드시 다음 셋 중 정확히 하나를 지정하라.
            * **'low'**: 대화에 경미한 불편을 줬으나 큰 영향 없음 (예: 표현의 부정확함, 가벼운 감정 표현)
@@ -240,11 +241,201 @@ public class GptService {
           **출력 직전 최종 점검**: 위의 모든 가이드라인을 철저히 준수하여, 사용자가 보고서를 읽고 "아, 내가 이래서 대화가 안 통했구나"라고 깨달을 수 있는 수준 높은 분석 결과를 생성하라.
       """;
 
-  public GptService(ChatClient.Builder chatClientBuilder) {
+  /**
+   * map 단계: 긴 대화를 구간(window)별로 나눠 보낼 때 SYSTEM_PROMPT_FOR_REPORT 뒤에 덧붙이는 지시
+   */
+  private static final String MAP_ADDENDUM = """
+
+      =========================================
+      구간 분석 모드 (map 단계)
+      =========================================
+      - 이번 입력은 긴 대화의 **연속된 일부 구간**이다. 입력 JSON에 window(현재 구간 번호)와 total_windows(전체 구간 수)가 추가된다.
+      - refs에는 이 구간에서 참조된 항목만 담겨 있다.
+      - **이 구간에 등장한 발화만을 근거로** 위와 동일한 출력 형식(report_title, report_cards 6개)의 부분 보고서를 작성하라.
+      - 다른 구간의 내용을 추측하지 마라. 이 결과는 이후 다른 구간의 결과와 통합된다.
+      - evidence에는 이 구간의 실제 발화를 정확히 인용하라.
+      """;
+
+  /**
+   * reduce 단계: 구간별 부분 보고서를 하나의 최종 보고서로 통합할 때 덧붙이는 지시
+   */
+  private static final String REDUCE_ADDENDUM = """
+
+      =========================================
+      통합 모드 (reduce 단계) - 이번 호출에서는 입력 형식이 위와 다르다
+      =========================================
+      입력으로 아래와 같은 JSON 하나를 받는다:
+
+      {
+        "speakers": { "A": "이름1", "B": "이름2" },
+        "partial_reports": [
+          { "window": 1, "report_title": "...", "report_cards": [ ... ] }
+          // 대화의 연속된 구간별 부분 보고서들 (window 순서 = 대화 순서)
+        ]
+      }
+
+      - 각 부분 보고서는 같은 대화의 서로 다른 구간을 위의 규칙대로 분석한 결과다.
+      - 모든 구간을 아우르는 **하나의 최종 보고서**를 위와 동일한 출력 형식으로 작성하라.
+      - summary/analysis는 대화 전체의 흐름(갈등의 시작 → 고조 → 결말)이 드러나게 다시 서술하라.
+      - mistakes는 같은 type끼리 합치고, 가장 대표적인 evidence를 남기며 severity는 가장 높은 값을 따른다.
+      - coaching은 중복을 제거해 참여자당 3~5개로 정리하라.
+      - ratio는 구간별 값을 단순 평균하지 말고 대화 전체를 기준으로 다시 산정하라.
+      - participantA/B 매핑과 이름 사용 규칙은 부분 보고서와 동일하게 유지하라.
+      """;
+
+  private final ObjectMapper objectMapper;
+  private final GptInputEncoder gptInputEncoder;
+  private final ThreadPoolTaskExecutor gptMapExecutor;
+  private final RagProperties.Gpt gptProps;
+
+  public GptService(ChatClient.Builder chatClientBuilder,
+                    ObjectMapper objectMapper,
+                    GptInputEncoder gptInputEncoder,
+                    @Qualifier("gptMapExecutor") ThreadPoolTaskExecutor gptMapExecutor,
+                    RagProperties ragProperties) {
     this.chatClient = chatClientBuilder.build();
+    this.objectMapper = objectMapper;
+    this.gptInputEncoder = gptInputEncoder;
+    this.gptMapExecutor = gptMapExecutor;
+    this.gptProps = ragProperties.getGpt();
   }
 
   public String generateReport(String inputJson) {
     return chatClient.prompt().system(SYSTEM_PROMPT_FOR_REPORT).user(inputJson).call().content();
   }
+
+  /**
+   * 메시지 수가 map-reduce 기준 이상인지 여부
+   */
+  public boolean shouldUseMapReduce(int messageCount) {
+    return gptProps.isMapReduceEnabled() && messageCount >= gptProps.getMapReduceThreshold();
+  }
+
+  /**
+   * 긴 대화용 map-reduce 보고서 생성
+   * 1. messages_with_rag를 windowSize 단위로 나눠 구간별 부분 보고서를 동시에 생성 (stream)
+   * 2. 부분 보고서들을 reduce 호출 한 번으로 최종 보고서로 통합
+   *
+   * @param listener 구간별 부분 보고서가 완성될 때마다 호출됨 (null 가능)
+   * @return 최종 보고서 JSON (generateReport와 같은 형식)
+   */
+  public String generateReportMapReduce(String user1Id, String user2Id,
+                                        List<Map<String, Object>> messagesWithRag,
+                                        PartialReportListener listener) throws Exception {
+    int windowSize = Math.max(1, gptProps.getWindowSize());
+    int totalWindows = (messagesWithRag.size() + windowSize - 1) / windowSize;
+    log.info("[GPT] map-reduce start | messages={} | windows={}", messagesWithRag.size(), totalWindows);
+    final long t0 = System.nanoTime();
+
+    List<CompletableFuture<String>> futures = new ArrayList<>(totalWindows);
+    List<Future<?>> tasks = new ArrayList<>(totalWindows);
+    try {
+      for (int w = 0; w < totalWindows; w++) {
+        final int window = w + 1;
+        List<Map<String, Object>> slice = messagesWithRag.subList(
+            w * windowSize, Math.min((w + 1) * windowSize, messagesWithRag.size()));
+
+        // 구간마다 별도의 refs 테이블을 가진 압축 입력
+        Map<String, Object> mapInput = gptInputEncoder.encode(user1Id, user2Id, slice);
+        mapInput.put("window", window);
+        mapInput.put("total_windows", totalWindows);
+        String mapInputJson = objectMapper.writeValueAsString(mapInput);
+        log.info("[GPT] map window {}/{} input | chars={} | ~tokens={}", window, totalWindows,
+            mapInputJson.length(), GptInputEncoder.estimateTokens(mapInputJson));
+
+        // executor 대기열이 가득 차면 여기서 거절 예외가 나고, 이미 제출한 구간은 아래에서 취소됨
+        CompletableFuture<String> future = new CompletableFuture<>();
+        futures.add(future);
+        tasks.add(gptMapExecutor.submit(() -> {
+          try {
+            future.complete(mapWindow(window, totalWindows, mapInputJson, listener));
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        }));
+      }
+      awaitAll(futures, gptProps.getMapTimeout());
+    } catch (Exception e) {
+      // 대기 중인 구간은 실행되지 않고, 스트리밍 중인 구간은 interrupt되어 blockLast가 구독을 끊고 스레드를 돌려줌
+      tasks.forEach(task -> task.cancel(true));
+      throw e;
+    }
+
+    List<Map<String, Object>> partialReports = new ArrayList<>(totalWindows);
+    for (int w = 0; w < totalWindows; w++) {
+      String partialJson = futures.get(w).join();
+      Map<String, Object> partial = new LinkedHashMap<>();
+      partial.put("window", w + 1);
+      partial.putAll(objectMapper.readValue(partialJson,
+          objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class)));
+      partialReports.add(partial);
+    }
+    final long t1 = System.nanoTime();
+
+    Map<String, Object> reduceInput = new LinkedHashMap<>();
+    reduceInput.put("speakers", gptInputEncoder.encodeSpeakers(user1Id, user2Id, messagesWithRag));
+    reduceInput.put("partial_reports", partialReports);
+    String result = streamContent(SYSTEM_PROMPT_FOR_REPORT + REDUCE_ADDENDUM,
+        objectMapper.writeValueAsString(reduceInput));
+
+    log.info("[GPT] map-reduce done | map {} ms | reduce {} ms",
+        (t1 - t0) / 1_000_000, (System.nanoTime() - t1) / 1_000_000);
+    return result;
+  }
+
+  private String mapWindow(int window, int totalWindows, String mapInputJson, PartialReportListener listener) {
+    final long ts = System.nanoTime();
+    String partial = streamContent(SYSTEM_PROMPT_FOR_REPORT + MAP_ADDENDUM, mapInputJson);
+    log.info("[GPT] map window {}/{} done | {} ms", window, totalWindows, (System.nanoTime() - ts) / 1_000_000);
+    if (listener != null) {
+      try {
+        listener.onPartialReport(window, totalWindows, partial);
+      } catch (Exception e) {
+        log.warn("[GPT] partial report listener failed for window {}: {}", window, e.toString());
+      }
+    }
+    return partial;
+  }
+
+  /**
+   * 모든 map 구간을 하나의 제한 시간 안에서 기다린다.
+   * 한 구간이라도 실패하면 나머지를 기다리지 않고 바로 실패한다.
+   */
+  private static void awaitAll(List<CompletableFuture<String>> futures, Duration timeout) throws Exception {
+    CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    futures.forEach(future -> future.whenComplete((partial, e) -> {
+      if (e != null) {
+        all.completeExceptionally(e);
+      }
+    }));
+    try {
+      all.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * stream()으로 응답을 받아 하나의 문자열로 합친다.
+   * 긴 응답도 토큰이 도착하는 대로 받아 단일 blocking call의 읽기 타임아웃을 피한다.
+   * 대기 중인 스레드가 interrupt되면 blockLast가 구독을 해제하므로 모델 스트림도 함께 끊긴다.
+   */
+  private String streamContent(String systemPrompt, String userInput) {
+    StringBuilder sb = new StringBuilder();
+    chatClient.prompt().system(systemPrompt).user(userInput).stream().content()
+        .doOnNext(sb::append)
+        .blockLast();
+    return sb.toString();
+  }
+
+  /**
+   * map 단계에서 구간별 부분 보고서가 완성될 때 호출되는 콜백
+   */
+  @FunctionalInterface
+  public interface PartialReportListener {
+    void onPartialReport(int window, int totalWindows, String partialReportJson);
+  }
 }
@@ -0,0 +1,112 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.cache.RagSearchCache;
+import com.khi.ragservice.properties.RagProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 벡터 검색 전에 정보량이 낮은 메시지를 걸러내는 pre-filter
+ * 이모지/기호만 있는 메시지, 한 글자 메시지, 웃음/울음("ㅋㅋ", "ㅠㅠ", "하하") 메시지,
+ * 맞장구 같은 stop-phrase는 RAG 항목이 GPT에 노이즈만 되므로 검색하지 않는다.
+ */
+@Slf4j
+@Component
+public class MessagePreFilter {
+
+    private static final Pattern TRAILING_PUNCT = Pattern.compile("[\\p{Punct}\\s~…]+$");
+
+    private final RagProperties.Filter props;
+    private final Set<String> stopPhrases;
+    private final Pattern laughterPattern;
+    private final DistributionSummary skippedPerReport;
+
+    public MessagePreFilter(RagProperties ragProperties, MeterRegistry meterRegistry) {
+        this.props = ragProperties.getFilter();
+        this.stopPhrases = new HashSet<>();
+        for (String phrase : props.getStopPhrases()) {
+            this.stopPhrases.add(RagSearchCache.normalize(phrase));
+        }
+        this.laughterPattern = Pattern.compile(props.getLaughterPattern());
+        this.skippedPerReport = DistributionSummary.builder("rag.prefilter.skipped")
+                .description("Messages skipped by the pre-filter per report")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 보고서의 메시지 목록에 pre-filter를 적용
+     *
+     * @return 입력과 같은 길이의 목록. 검색을 생략할 메시지("no retrieval")는 null
+     */
+    public List<String> filter(List<String> texts) {
+        List<String> out = new ArrayList<>(texts.size());
+        int skipped = 0;
+        for (String text : texts) {
+            if (shouldSkip(text)) {
+                out.add(null);
+                skipped++;
+            } else {
+                out.add(text);
+            }
+        }
+        skippedPerReport.record(skipped);
+        log.info("[RAG] pre-filter skipped {}/{} messages", skipped, texts.size());
+        return out;
+    }
+
+    /**
+     * @return 검색을 생략해야 하면 true
+     */
+    public boolean shouldSkip(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return true;
+        }
+        if (!props.isEnabled()) {
+            return false;
+        }
+
+        String normalized = RagSearchCache.normalize(text);
+        String core = TRAILING_PUNCT.matcher(normalized).replaceAll("");
+        if (stopPhrases.contains(normalized) || stopPhrases.contains(core)) {
+            return true;
+        }
+
+        String compact = core.replace(" ", "");
+        if (!compact.isEmpty() && laughterPattern.matcher(compact).matches()) {
+            return true;
+        }
+
+        return countContentChars(normalized) < props.getMinContentChars();
+    }
+
+    /**
+     * 완성형 한글 음절, 라틴 문자, 숫자 등 "의미 있는" 문자의 개수
+     * 자모(ㅋ, ㅎ, ㅠ 등), 이모지, 기호, 공백은 세지 않는다.
+     */
+    private static int countContentChars(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isHangulJamo(cp)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(cp)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isHangulJamo(int cp) {
+        return (cp >= 0x1100 && cp <= 0x11FF) || (cp >= 0x3130 && cp <= 0x318F);
+    }
+}
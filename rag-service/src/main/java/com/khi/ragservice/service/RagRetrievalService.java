@@ -0,0 +1,146 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.cache.RagSearchCache;
+import com.khi.ragservice.index.InMemoryVectorIndex;
+import com.khi.ragservice.properties.RagProperties;
+import com.khi.ragservice.repository.VectorSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 보고서의 모든 메시지에 대한 RAG 검색을 일괄 처리
+ * 메시지마다 임베딩 + similaritySearch를 순차 호출하던 방식 대신,
+ * 임베딩은 embeddingBatchSize 단위의 bulk 요청으로, 검색은 searchBatchSize 단위의 멀티 쿼리 SQL로 수행한다.
+ * 정규화된 텍스트 기준으로 임베딩 / 검색 결과를 캐시하여 반복 발화는 다시 조회하지 않는다.
+ * 메모리 인덱스가 준비된 경우 검색은 DB 대신 {@link InMemoryVectorIndex}에서 수행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RagRetrievalService {
+
+    private final EmbeddingModel embeddingModel;
+    private final VectorSearchRepository vectorSearchRepository;
+    private final InMemoryVectorIndex inMemoryVectorIndex;
+    private final RagSearchCache ragSearchCache;
+    private final RagProperties ragProperties;
+
+    /**
+     * @param messageTexts 검색할 메시지 목록
+     * @param k            메시지당 상위 몇 개를 가져올지
+     * @return 입력 순서와 같은 순서의 메시지별 RAG 검색 결과 (빈 메시지는 빈 리스트)
+     */
+    public List<List<Map<String, Object>>> searchAll(List<String> messageTexts, int k) {
+        final long t0 = System.nanoTime();
+        List<List<Map<String, Object>>> results = new ArrayList<>(messageTexts.size());
+        for (int i = 0; i < messageTexts.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+
+        // 같은 보고서 안에서 반복되는 문장은 한 번만 임베딩/검색
+        Map<String, List<Integer>> positionsByKey = new LinkedHashMap<>();
+        for (int i = 0; i < messageTexts.size(); i++) {
+            String key = RagSearchCache.normalize(messageTexts.get(i));
+            if (key.isEmpty()) {
+                continue;
+            }
+            positionsByKey.computeIfAbsent(key, ignored -> new ArrayList<>()).add(i);
+        }
+        if (positionsByKey.isEmpty()) {
+            return results;
+        }
+
+        // 캐시 조회: 결과 캐시 → 임베딩 캐시 → 임베딩 요청 순
+        List<String> toEmbed = new ArrayList<>();
+        List<String> toSearch = new ArrayList<>();
+        List<float[]> searchEmbeddings = new ArrayList<>();
+        int resultHits = 0;
+        for (String key : positionsByKey.keySet()) {
+            List<Map<String, Object>> cached = ragSearchCache.getResult(key, k);
+            if (cached != null) {
+                fill(results, positionsByKey.get(key), cached);
+                resultHits++;
+                continue;
+            }
+            float[] embedding = ragSearchCache.getEmbedding(key);
+            if (embedding != null) {
+                toSearch.add(key);
+                searchEmbeddings.add(embedding);
+            } else {
+                toEmbed.add(key);
+            }
+        }
+
+        List<float[]> newEmbeddings = embedAll(toEmbed);
+        for (int i = 0; i < toEmbed.size(); i++) {
+            ragSearchCache.putEmbedding(toEmbed.get(i), newEmbeddings.get(i));
+            toSearch.add(toEmbed.get(i));
+            searchEmbeddings.add(newEmbeddings.get(i));
+        }
+        long t1 = System.nanoTime();
+
+        boolean inMemory = inMemoryVectorIndex.isReady();
+        int searchBatchSize = Math.max(1, ragProperties.getSearchBatchSize());
+        for (int from = 0; from < toSearch.size(); from += searchBatchSize) {
+            int to = Math.min(from + searchBatchSize, toSearch.size());
+            List<float[]> chunk = searchEmbeddings.subList(from, to);
+            List<List<Document>> documents = inMemory
+                    ? inMemoryVectorIndex.searchTopK(chunk, k)
+                    : vectorSearchRepository.searchTopK(chunk, k);
+
+            for (int i = from; i < to; i++) {
+                String key = toSearch.get(i);
+                List<Map<String, Object>> items = toRagItems(documents.get(i - from));
+                ragSearchCache.putResult(key, k, items);
+                fill(results, positionsByKey.get(key), items);
+            }
+        }
+
+        long t2 = System.nanoTime();
+        log.info("[RAG] batch retrieval | messages={} | unique={} | cachedResults={} | embedded={} | embed {} ms | search {} ms ({})",
+                messageTexts.size(), positionsByKey.size(), resultHits, toEmbed.size(),
+                (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, inMemory ? "memory" : "pgvector");
+        return results;
+    }
+
+    private List<float[]> embedAll(List<String> queries) {
+        int batchSize = Math.max(1, ragProperties.getEmbeddingBatchSize());
+        List<float[]> embeddings = new ArrayList<>(queries.size());
+        for (int from = 0; from < queries.size(); from += batchSize) {
+            List<String> chunk = queries.subList(from, Math.min(from + batchSize, queries.size()));
+            log.info("[RAG] Requesting bulk embedding for {} messages", chunk.size());
+            embeddings.addAll(embeddingModel.embed(chunk));
+        }
+        return embeddings;
+    }
+
+    private static void fill(List<List<Map<String, Object>>> results, List<Integer> positions,
+                             List<Map<String, Object>> items) {
+        for (int position : positions) {
+            results.set(position, items);
+        }
+    }
+
+    private List<Map<String, Object>> toRagItems(List<Document> documents) {
+        List<Map<String, Object>> items = new ArrayList<>(documents.size());
+        for (Document doc : documents) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            // Metadata에서 기존 필드들을 가져옴
+            m.put("id", doc.getMetadata().get("id"));
+            m.put("text", doc.getText()); // Document의 content가 text임
+            m.put("label", doc.getMetadata().get("label"));
+            m.put("label_id", doc.getMetadata().get("label_id"));
+            m.put("score", doc.getScore());
+            items.add(m);
+        }
+        return items;
+    }
+}
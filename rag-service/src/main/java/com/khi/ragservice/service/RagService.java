@@ -8,15 +8,13 @@ import com.khi.ragservice.dto.reportcard.ReportCardDto;
 import com.khi.ragservice.entity.ConversationReport;
 import com.khi.ragservice.enums.ReportState;
 import com.khi.ragservice.enums.SourceType;
+import com.khi.ragservice.properties.RagProperties;
 import com.khi.ragservice.repository.ConversationReportRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -33,7 +31,12 @@ public class RagService {
     private final ObjectMapper objectMapper;
     private final ConversationReportRepository conversationReportRepository;
     private final ReportEventPublisher reportEventPublisher;
-    private final VectorStore vectorStore;
+    private final RagRetrievalService ragRetrievalService;
+    private final MessagePreFilter messagePreFilter;
+    private final GptInputEncoder gptInputEncoder;
+    private final AnalysisJobTracker analysisJobTracker;
+    private final RagProperties ragProperties;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 빈 보고서를 초기화하여 PENDING 상태로 저장
@@ -108,7 +111,7 @@ public class RagService {
 
     @Transactional
     public ReportSummaryDto analyzeConversation(String user1Id, String user2Id, List<ChatMessageDto> chatMessages) {
-        final int K = 3;
+        final int K = ragProperties.getTopK();
         final long t0 = System.nanoTime();
         log.info("[RAG] start (vector) | K={} | messages={}", K, chatMessages.size());
 
@@ -123,8 +126,7 @@ public class RagService {
             // Log RAG search results before sending to GPT
             log.info("[RAG] GPT Input - messages_with_rag: {}", messagesWithRag);
 
-            String inputJson = objectMapper.writeValueAsString(gptInput);
-            String gptResponseJson = gptService.generateReport(inputJson);
+            String gptResponseJson = generateReportJson(user1Id, user2Id, messagesWithRag, null);
 
             // Parse GPT response
             @SuppressWarnings("unchecked")
@@ -237,16 +239,16 @@ public class RagService {
     }
 
     /**
-     * Chat-Service 전용: reportId를 지정하여 보고서 생성 (비동기)
+     * Chat-Service 전용: reportId를 지정하여 보고서 생성 (ReportJobWorker에서 호출)
      * PENDING 보고서는 이미 생성되어 있으므로 바로 분석 시작
+     * 실패 시 예외를 던져 작업 대기열에서 재시도하도록 함. upsertReport로 저장하므로 재실행해도 안전
+     * 검색/GPT 호출은 수 분이 걸릴 수 있으므로 트랜잭션 없이 수행하고, 마지막 저장만 짧은 트랜잭션으로 묶는다.
      */
-    @Async
-    @Transactional
-    public void analyzeConversationWithReportIdAsync(ChatRagRequestDto requestDto) {
+    public void analyzeConversationWithReportId(ChatRagRequestDto requestDto) {
 
-        final int K = 3;
+        final int K = ragProperties.getTopK();
         final long t0 = System.nanoTime();
-        log.info("[RAG][CHAT] ===== START: Chat-Service Report Generation (ASYNC) =====");
+        log.info("[RAG][CHAT] ===== START: Chat-Service Report Generation (JOB) =====");
         log.info("[RAG][CHAT] Input parameters - reportId: {}, user1Id: '{}', user2Id: '{}', messages: {}",
                 requestDto.getReportId(), requestDto.getUser1Id(), requestDto.getUser2Id(),
                 requestDto.getChatData().size());
@@ -270,45 +272,27 @@ public class RagService {
             }
             log.info("[RAG][CHAT] Extracted names - user1Name: '{}', user2Name: '{}'", user1Name, user2Name);
 
-            // Perform individual RAG search for each message
-            List<Map<String, Object>> messagesWithRag = new ArrayList<>();
-            for (int i = 0; i < requestDto.getChatData().size(); i++) {
-                ChatMessageDto message = requestDto.getChatData().get(i);
-                log.info("[RAG] Processing message {}/{}: {}", i + 1, requestDto.getChatData().size(),
-                        message.getMessage());
-
-                List<Map<String, Object>> ragItems = searchRagForMessage(message.getMessage(), K);
-
-                log.info("[RAG] Message {}/{} - found {} RAG items for: \"{}\"",
-                        i + 1, requestDto.getChatData().size(), ragItems.size(), message.getMessage());
-                for (int j = 0; j < ragItems.size(); j++) {
-                    Map<String, Object> item = ragItems.get(j);
-                    log.info("[RAG]   Item {}: score={}, label={}, text={}",
-                            j + 1, item.get("score"), item.get("label"), item.get("text"));
-                }
-
-                Map<String, Object> messageWithRag = new LinkedHashMap<>();
-                messageWithRag.put("userId", message.getUserId());
-                messageWithRag.put("name", message.getName());
-                messageWithRag.put("message", message.getMessage());
-                messageWithRag.put("rag_items", ragItems);
-
-                messagesWithRag.add(messageWithRag);
-            }
+            // 모든 메시지에 대한 RAG 검색을 일괄 수행
+            analysisJobTracker.stage(requestDto.getReportId(), "retrieval");
+            List<Map<String, Object>> messagesWithRag = buildMessagesWithRag(requestDto.getChatData(), K);
 
             long t1 = System.nanoTime();
+            analysisJobTracker.recordStage("retrieval", t1 - t0);
             log.info("[RAG] done (vector) | messages={} | {} ms", requestDto.getChatData().size(),
                     (t1 - t0) / 1_000_000);
 
-            Map<String, Object> gptInput = new LinkedHashMap<>();
-            gptInput.put("user1_id", requestDto.getUser1Id());
-            gptInput.put("user2_id", requestDto.getUser2Id());
-            gptInput.put("messages_with_rag", messagesWithRag);
-
             log.info("[RAG] GPT Input - messages_with_rag: {}", messagesWithRag);
 
-            String inputJson = objectMapper.writeValueAsString(gptInput);
-            String gptResponseJson = gptService.generateReport(inputJson);
+            // 긴 대화는 구간별 부분 보고서가 완성될 때마다 /queue/notify로 진행 상황 전송
+            GptService.PartialReportListener progressListener = (window, totalWindows, partialJson) ->
+                    reportEventPublisher.publishReportProgress(requestDto.getReportId(),
+                            requestDto.getUser1Id(), requestDto.getUser2Id(),
+                            window, totalWindows, extractReportCards(partialJson));
+            analysisJobTracker.stage(requestDto.getReportId(), "gpt");
+            String gptResponseJson = generateReportJson(requestDto.getUser1Id(), requestDto.getUser2Id(),
+                    messagesWithRag, progressListener);
+            long t2 = System.nanoTime();
+            analysisJobTracker.recordStage("gpt", t2 - t1);
 
             // Parse GPT response
             @SuppressWarnings("unchecked")
@@ -325,6 +309,7 @@ public class RagService {
             log.info("[RAG][CHAT] Parsed {} report cards from GPT response", reportCards.size());
 
             // user1Name, user2Name은 이미 메서드 시작 부분에서 추출됨
+            analysisJobTracker.stage(requestDto.getReportId(), "persist");
 
             // reportId를 직접 지정하여 저장 (네이티브 쿼리 사용하여 JPA IDENTITY 전략 충돌 회피)
             log.info("[RAG][CHAT] ===== Updating report to COMPLETED state =====");
@@ -334,80 +319,72 @@ public class RagService {
             String chatDataJson = objectMapper.writeValueAsString(requestDto.getChatData());
 
             // PENDING → COMPLETED 상태로 업데이트 (분석 결과 포함)
-            conversationReportRepository.upsertReport(
-                    requestDto.getReportId(),
-                    requestDto.getUser1Id(),
-                    user1Name,
-                    requestDto.getUser2Id(),
-                    user2Name,
-                    reportTitle, // GPT가 생성한 제목으로 변경
-                    chatDataJson,
-                    reportCardsJson,
-                    ReportState.COMPLETED.name(), // PENDING → COMPLETED
-                    SourceType.CHAT.name(),
-                    true); // isNameUpdated = true for chat reports
-
-            log.info("[RAG][CHAT] Upsert completed successfully");
-
-            // 저장된 엔티티를 다시 조회
-            log.info("[RAG][CHAT] Retrieving saved report with reportId: {}", requestDto.getReportId());
-            ConversationReport savedEntity = conversationReportRepository.findById(requestDto.getReportId())
-                    .orElseThrow(() -> new RuntimeException(
-                            "Failed to save report with reportId: " + requestDto.getReportId()));
+            final String user1NameFinal = user1Name;
+            final String user2NameFinal = user2Name;
+            ConversationReport savedEntity = transactionTemplate.execute(status -> {
+                conversationReportRepository.upsertReport(
+                        requestDto.getReportId(),
+                        requestDto.getUser1Id(),
+                        user1NameFinal,
+                        requestDto.getUser2Id(),
+                        user2NameFinal,
+                        reportTitle, // GPT가 생성한 제목으로 변경
+                        chatDataJson,
+                        reportCardsJson,
+                        ReportState.COMPLETED.name(), // PENDING → COMPLETED
+                        SourceType.CHAT.name(),
+                        true); // isNameUpdated = true for chat reports
+
+                log.info("[RAG][CHAT] Upsert completed successfully");
+
+                // 저장된 엔티티를 다시 조회
+                log.info("[RAG][CHAT] Retrieving saved report with reportId: {}", requestDto.getReportId());
+                return conversationReportRepository.findById(requestDto.getReportId())
+                        .orElseThrow(() -> new RuntimeException(
+                                "Failed to save report with reportId: " + requestDto.getReportId()));
+            });
 
             log.info("[RAG][CHAT] ===== SUCCESS: Report saved =====");
             log.info("[RAG][CHAT] Saved entity details - id: {}, user1Id: '{}', user2Id: '{}', title: '{}', state: {}",
                     savedEntity.getId(), savedEntity.getUser1Id(), savedEntity.getUser2Id(),
                     savedEntity.getTitle(), savedEntity.getState());
+            analysisJobTracker.recordStage("persist", System.nanoTime() - t2);
 
         } catch (Exception e) {
             log.error("[RAG][CHAT] Failed to generate RAG response for reportId: {}", requestDto.getReportId(), e);
-            // 비동기 메서드이므로 예외를 던지지 않고 로그만 남김
+            throw new RuntimeException("Failed to generate RAG response for reportId: " + requestDto.getReportId(), e);
         }
     }
 
+    public Map<String, Object> prepareRAGContext(String user1Id, String user2Id, List<ChatMessageDto> chatMessages) {
+        final int K = ragProperties.getTopK();
+        List<Map<String, Object>> messagesWithRag = buildMessagesWithRag(chatMessages, K);
+
+        Map<String, Object> gptInput = new LinkedHashMap<>();
+        gptInput.put("user1_id", user1Id);
+        gptInput.put("user2_id", user2Id);
+        gptInput.put("messages_with_rag", messagesWithRag);
+
+        return gptInput;
+    }
+
     /**
-     * @param messageText 검색할 메시지
-     * @param k           상위 몇 개를 가져올지
-     * @return RAG 검색 결과 리스트 (Map 형태)
+     * 메시지 목록 전체를 한 번에 RAG 검색하여 GPT 입력용 messages_with_rag 배열을 만든다.
      */
-    private List<Map<String, Object>> searchRagForMessage(String messageText, int k) {
-        if (messageText == null || messageText.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Spring AI VectorStore를 사용한 유사도 검색
-        log.info("[RAG] Requesting embedding generation and vector search for query: \"{}\"", messageText);
-        List<Document> documents = vectorStore.similaritySearch(
-                SearchRequest.builder()
-                        .query(messageText)
-                        .topK(k)
-                        .build());
-        log.info("[RAG] Vector search finished. Found {} documents for query: \"{}\"", documents.size(), messageText);
-
-        List<Map<String, Object>> items = new ArrayList<>();
-        for (Document doc : documents) {
-            Map<String, Object> m = new LinkedHashMap<>();
-            // Metadata에서 기존 필드들을 가져옴
-            m.put("id", doc.getMetadata().get("id"));
-            m.put("text", doc.getText()); // Document의 content가 text임
-            m.put("label", doc.getMetadata().get("label"));
-            m.put("label_id", doc.getMetadata().get("label_id"));
-            m.put("score", doc.getScore()); // Spring AI가 제공하는 유사도 점수
-            items.add(m);
+    private List<Map<String, Object>> buildMessagesWithRag(List<ChatMessageDto> chatMessages, int k) {
+        List<String> texts = new ArrayList<>(chatMessages.size());
+        for (ChatMessageDto message : chatMessages) {
+            texts.add(message.getMessage());
         }
-        return items;
-    }
+        // 정보량이 낮은 메시지는 검색 대상에서 제외 (null → 빈 rag_items)
+        List<String> searchTexts = messagePreFilter.filter(texts);
 
-    public Map<String, Object> prepareRAGContext(String user1Id, String user2Id, List<ChatMessageDto> chatMessages) {
-        final int K = 3;
-        List<Map<String, Object>> messagesWithRag = new ArrayList<>();
+        List<List<Map<String, Object>>> ragItemsPerMessage = ragRetrievalService.searchAll(searchTexts, k);
 
+        List<Map<String, Object>> messagesWithRag = new ArrayList<>(chatMessages.size());
         for (int i = 0; i < chatMessages.size(); i++) {
             ChatMessageDto message = chatMessages.get(i);
-            log.info("[RAG] Processing message {}/{}: {}", i + 1, chatMessages.size(), message.getMessage());
-
-            List<Map<String, Object>> ragItems = searchRagForMessage(message.getMessage(), K);
+            List<Map<String, Object>> ragItems = ragItemsPerMessage.get(i);
 
             // Log detailed RAG results for this message
             log.info("[RAG] Message {}/{} - found {} RAG items for: \"{}\"",
@@ -426,12 +403,40 @@ public class RagService {
 
             messagesWithRag.add(messageWithRag);
         }
+        return messagesWithRag;
+    }
 
-        Map<String, Object> gptInput = new LinkedHashMap<>();
-        gptInput.put("user1_id", user1Id);
-        gptInput.put("user2_id", user2Id);
-        gptInput.put("messages_with_rag", messagesWithRag);
+    /**
+     * 메시지 수에 따라 단일 호출 또는 map-reduce 방식으로 GPT 보고서 JSON을 생성
+     */
+    private String generateReportJson(String user1Id, String user2Id,
+                                      List<Map<String, Object>> messagesWithRag,
+                                      GptService.PartialReportListener listener) throws Exception {
+        if (gptService.shouldUseMapReduce(messagesWithRag.size())) {
+            return gptService.generateReportMapReduce(user1Id, user2Id, messagesWithRag, listener);
+        }
+        // 중복 RAG 항목 / 화자 정보를 압축한 입력으로 전송
+        Map<String, Object> gptInput = gptInputEncoder.encode(user1Id, user2Id, messagesWithRag);
+        String inputJson = objectMapper.writeValueAsString(gptInput);
+        log.info("[RAG] GPT input | messages={} | refs={} | chars={} | ~tokens={}",
+                messagesWithRag.size(), ((Map<?, ?>) gptInput.get("refs")).size(),
+                inputJson.length(), GptInputEncoder.estimateTokens(inputJson));
+        return gptService.generateReport(inputJson);
+    }
 
-        return gptInput;
+    /**
+     * 부분 보고서 JSON에서 report_cards만 추출 (파싱 실패 시 빈 리스트)
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> extractReportCards(String partialJson) {
+        try {
+            Map<String, Object> partial = objectMapper.readValue(partialJson,
+                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class));
+            Object cards = partial.get("report_cards");
+            return cards instanceof List ? (List<Map<String, Object>>) cards : List.of();
+        } catch (Exception e) {
+            log.warn("[RAG] partial report parse failed: {}", e.toString());
+            return List.of();
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,16 @@
 package com.khi.ragservice.service;
 
 import com.khi.ragservice.dto.ReportCompletedEvent;
+import com.khi.ragservice.dto.ReportProgressEvent;
 import com.khi.ragservice.entity.ConversationReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
@@ -25,4 +29,11 @@ public class ReportEventPublisher {
 
         log.info("[RAG] 레포트 분석 완료 이벤트 발생");
     }
+
+    public void publishReportProgress(Long reportId, String user1Id, String user2Id,
+                                      int window, int totalWindows, List<Map<String, Object>> reportCards) {
+        eventPublisher.publishEvent(
+                new ReportProgressEvent(reportId, user1Id, user2Id, window, totalWindows, reportCards)
+        );
+    }
 }
@@ -0,0 +1,202 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.dto.ChatRagRequestDto;
+import com.khi.ragservice.entity.ReportJob;
+import com.khi.ragservice.enums.ReportJobStatus;
+import com.khi.ragservice.enums.ReportState;
+import com.khi.ragservice.properties.RagProperties;
+import com.khi.ragservice.repository.ConversationReportRepository;
+import com.khi.ragservice.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * report_jobs 테이블 기반 보고서 생성 작업 대기열
+ * 작업 등록 / 점유(lease) / 완료 / 재시도 상태 전이를 담당
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ConversationReportRepository conversationReportRepository;
+    private final RagProperties ragProperties;
+
+    /**
+     * 보고서 생성 작업 등록. 같은 reportId로 다시 요청되면 기존 작업을 새 payload로 초기화한다.
+     * 이미 다른 워커가 점유 중인 작업은 건드리지 않음
+     */
+    @Transactional
+    public void enqueue(ChatRagRequestDto requestDto) {
+        LocalDateTime now = LocalDateTime.now();
+        ReportJob job = reportJobRepository.findByReportId(requestDto.getReportId())
+                .orElseGet(ReportJob::new);
+
+        if (job.getStatus() == ReportJobStatus.RUNNING && job.getLeaseUntil() != null
+                && job.getLeaseUntil().isAfter(now)) {
+            log.warn("[RAG][JOB] job already running - reportId: {}, owner: {}",
+                    requestDto.getReportId(), job.getLeaseOwner());
+            return;
+        }
+
+        job.setReportId(requestDto.getReportId());
+        job.setPayload(requestDto);
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setAttempts(0);
+        job.setNextRunAt(now);
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+        job.setLastError(null);
+        reportJobRepository.save(job);
+
+        log.info("[RAG][JOB] enqueued - reportId: {}, messages: {}",
+                requestDto.getReportId(), requestDto.getChatData().size());
+    }
+
+    /**
+     * 실행 가능한 작업을 최대 limit개 점유하여 반환
+     * 점유 시점에 시도 횟수를 올리므로, 실행 중 인스턴스가 죽어도 재시도 횟수가 누적된다.
+     */
+    @Transactional
+    public List<ReportJob> claim(String workerId, int limit) {
+        RagProperties.Job props = ragProperties.getJob();
+        LocalDateTime now = LocalDateTime.now();
+        List<ReportJob> claimed = new ArrayList<>();
+
+        for (ReportJob job : reportJobRepository.findClaimable(now, limit)) {
+            // 이전 시도에서 보고서 저장까지 끝났지만 작업 상태 갱신 전에 중단된 경우
+            if (conversationReportRepository.existsByIdAndState(job.getReportId(), ReportState.COMPLETED)) {
+                log.info("[RAG][JOB] report already completed - reportId: {}", job.getReportId());
+                complete(job, ReportJobStatus.SUCCEEDED);
+                continue;
+            }
+            // 점유 시간 만료로 돌아온 작업이 이미 시도 횟수를 다 쓴 경우
+            if (job.getAttempts() >= props.getMaxAttempts()) {
+                job.setLastError("lease expired after " + job.getAttempts() + " attempts");
+                failPermanently(job);
+                continue;
+            }
+
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseOwner(workerId);
+            job.setLeaseUntil(now.plus(props.getLeaseTimeout()));
+            claimed.add(job);
+        }
+
+        if (!claimed.isEmpty()) {
+            log.info("[RAG][JOB] claimed {} job(s) - worker: {}", claimed.size(), workerId);
+        }
+        return claimed;
+    }
+
+    /**
+     * 실행 성공 처리. 점유 시간이 만료되어 다른 워커가 다시 가져간 작업은 그 워커의 결과로 마무리되도록 건드리지 않음
+     */
+    @Transactional
+    public void markSucceeded(Long jobId, String workerId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (isLeaseLost(job, workerId)) {
+            log.warn("[RAG][JOB] lease lost - reportId: {}, owner: {}", job.getReportId(), job.getLeaseOwner());
+            return;
+        }
+        complete(job, ReportJobStatus.SUCCEEDED);
+    }
+
+    /**
+     * 실행 실패 처리. 시도 횟수가 남아 있으면 지수 backoff 후 재시도, 아니면 보고서를 FAILED로 표시
+     */
+    @Transactional
+    public void markFailed(Long jobId, String workerId, Exception e) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (isLeaseLost(job, workerId)) {
+            log.warn("[RAG][JOB] lease lost - reportId: {}, owner: {}", job.getReportId(), job.getLeaseOwner());
+            return;
+        }
+
+        job.setLastError(truncate(String.valueOf(e)));
+        if (job.getAttempts() >= ragProperties.getJob().getMaxAttempts()) {
+            failPermanently(job);
+            return;
+        }
+
+        Duration backoff = backoff(job.getAttempts());
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setNextRunAt(LocalDateTime.now().plus(backoff));
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+        log.warn("[RAG][JOB] retry scheduled - reportId: {}, attempt: {}, in {} s",
+                job.getReportId(), job.getAttempts(), backoff.toSeconds());
+    }
+
+    /**
+     * 로컬 executor가 작업을 받지 못한 경우 시도 횟수를 되돌리고 즉시 다시 대기열로
+     */
+    @Transactional
+    public void release(Long jobId) {
+        reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.QUEUED);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+            job.setLeaseOwner(null);
+            job.setLeaseUntil(null);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Map<ReportJobStatus, Long> countByStatus() {
+        Map<ReportJobStatus, Long> counts = new LinkedHashMap<>();
+        for (ReportJobStatus status : ReportJobStatus.values()) {
+            counts.put(status, reportJobRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    /**
+     * 점유 시간이 만료되어 다른 워커가 이미 가져간(또는 정리된) 작업인지
+     */
+    private static boolean isLeaseLost(ReportJob job, String workerId) {
+        return job.getStatus() != ReportJobStatus.RUNNING || !workerId.equals(job.getLeaseOwner());
+    }
+
+    private void failPermanently(ReportJob job) {
+        complete(job, ReportJobStatus.FAILED);
+        int updated = conversationReportRepository.updateState(job.getReportId(), ReportState.FAILED);
+        log.error("[RAG][JOB] giving up - reportId: {}, attempts: {}, report updated: {}, lastError: {}",
+                job.getReportId(), job.getAttempts(), updated, job.getLastError());
+    }
+
+    private void complete(ReportJob job, ReportJobStatus status) {
+        job.setStatus(status);
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+    }
+
+    private Duration backoff(int attempts) {
+        RagProperties.Job props = ragProperties.getJob();
+        long factor = 1L << Math.min(Math.max(attempts - 1, 0), 20);
+        Duration backoff = props.getInitialBackoff().multipliedBy(factor);
+        return backoff.compareTo(props.getMaxBackoff()) > 0 ? props.getMaxBackoff() : backoff;
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
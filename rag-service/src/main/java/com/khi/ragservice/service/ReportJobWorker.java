@@ -0,0 +1,109 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.entity.ReportJob;
+import com.khi.ragservice.loader.VectorIndexHealthIndicator;
+import com.khi.ragservice.properties.RagProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * report_jobs 대기열을 polling 하여 ragAnalysisExecutor의 여유 슬롯만큼 작업을 점유하고 실행
+ */
+@Slf4j
+@Component
+public class ReportJobWorker {
+
+    private final ReportJobService reportJobService;
+    private final RagService ragService;
+    private final AnalysisJobTracker analysisJobTracker;
+    private final ThreadPoolTaskExecutor ragAnalysisExecutor;
+    private final RagProperties ragProperties;
+    private final VectorIndexHealthIndicator vectorIndexHealthIndicator;
+    private final String workerId;
+
+    public ReportJobWorker(ReportJobService reportJobService,
+                           RagService ragService,
+                           AnalysisJobTracker analysisJobTracker,
+                           @Qualifier("ragAnalysisExecutor") ThreadPoolTaskExecutor ragAnalysisExecutor,
+                           RagProperties ragProperties,
+                           VectorIndexHealthIndicator vectorIndexHealthIndicator) {
+        this.reportJobService = reportJobService;
+        this.ragService = ragService;
+        this.analysisJobTracker = analysisJobTracker;
+        this.ragAnalysisExecutor = ragAnalysisExecutor;
+        this.ragProperties = ragProperties;
+        this.vectorIndexHealthIndicator = vectorIndexHealthIndicator;
+        this.workerId = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Scheduled(fixedDelayString = "${tictactalk.rag.job.poll-interval-ms:2000}")
+    public void poll() {
+        if (!ragProperties.getJob().isEnabled()) {
+            return;
+        }
+        // 데이터셋 적재 전에는 RAG 검색 결과가 비어 있으므로 작업을 가져가지 않음
+        if (!vectorIndexHealthIndicator.isReady()) {
+            return;
+        }
+
+        // 점유한 작업이 로컬 대기열에서 lease를 소모하지 않도록 바로 실행 가능한 만큼만 가져옴.
+        // pool은 대기열이 가득 찬 뒤에야 core 이상으로 늘어나므로 core 스레드 수를 기준으로 계산
+        int free = ragAnalysisExecutor.getCorePoolSize()
+                - ragAnalysisExecutor.getActiveCount()
+                - ragAnalysisExecutor.getThreadPoolExecutor().getQueue().size();
+        int limit = Math.min(free, ragProperties.getJob().getClaimBatchSize());
+        if (limit <= 0) {
+            return;
+        }
+
+        List<ReportJob> jobs;
+        try {
+            jobs = reportJobService.claim(workerId, limit);
+        } catch (Exception e) {
+            log.error("[RAG][JOB] failed to claim jobs", e);
+            return;
+        }
+
+        for (ReportJob job : jobs) {
+            analysisJobTracker.enqueued(job.getReportId());
+            try {
+                ragAnalysisExecutor.execute(() -> run(job));
+            } catch (TaskRejectedException e) {
+                analysisJobTracker.rejected(job.getReportId());
+                reportJobService.release(job.getId());
+            }
+        }
+    }
+
+    private void run(ReportJob job) {
+        Long reportId = job.getReportId();
+        analysisJobTracker.started(reportId);
+        boolean success = false;
+        try {
+            ragService.analyzeConversationWithReportId(job.getPayload());
+            reportJobService.markSucceeded(job.getId(), workerId);
+            success = true;
+        } catch (Exception e) {
+            log.error("[RAG][JOB] attempt {} failed - reportId: {}", job.getAttempts(), reportId, e);
+            reportJobService.markFailed(job.getId(), workerId, e);
+        } finally {
+            analysisJobTracker.finished(reportId, success);
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "rag-service";
+        }
+    }
+}
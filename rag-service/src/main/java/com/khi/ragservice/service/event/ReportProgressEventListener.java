@@ -0,0 +1,51 @@
+package com.khi.ragservice.service.event;
+
+import com.khi.ragservice.dto.ReportProgressEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportProgressEventListener {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * 분석 트랜잭션이 끝나기 전에 전달되어야 하므로 커밋을 기다리지 않고 바로 전송
+     */
+    @EventListener
+    public void onReportProgress(ReportProgressEvent event) {
+        log.info("[RAG WS] 리포트: {} 부분 분석 {}/{} 완료", event.getReportId(), event.getWindow(),
+                event.getTotalWindows());
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "REPORT_PROGRESS");
+        payload.put("reportId", event.getReportId());
+        payload.put("window", event.getWindow());
+        payload.put("totalWindows", event.getTotalWindows());
+        payload.put("reportCards", event.getReportCards() == null ? List.of() : event.getReportCards());
+
+        // user 중복 방지
+        Set<String> targets = Set.of(
+                event.getRequestUserId1(),
+                event.getRequestUserId2()
+        );
+
+        for (String userId : targets) {
+            messagingTemplate.convertAndSendToUser(
+                    userId,
+                    "/queue/notify",
+                    payload
+            );
+        }
+    }
+}
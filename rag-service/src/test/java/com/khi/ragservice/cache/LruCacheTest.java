@@ -0,0 +1,70 @@
+package com.khi.ragservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // a를 읽어 가장 최근 사용으로 만든 뒤 c를 넣으면 b가 밀려남
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void putOverwritesWithoutGrowing() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("a", 2);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("a")).isEqualTo(2);
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        LruCache<String, Integer> cache = new LruCache<>(4);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void concurrentAccessNeverExceedsMaxEntries() throws Exception {
+        LruCache<Integer, Integer> cache = new LruCache<>(100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10_000;
+                executor.execute(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i, i);
+                        cache.get(offset + i / 2);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(cache.size()).isEqualTo(100);
+    }
+}
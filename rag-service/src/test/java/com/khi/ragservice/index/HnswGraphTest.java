@@ -0,0 +1,119 @@
+package com.khi.ragservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswGraphTest {
+
+    private static final int DIMENSIONS = 64;
+    private static final int SIZE = 5_000;
+    private static final int QUERIES = 100;
+    private static final int K = 10;
+
+    @Test
+    void recallAgainstBruteForce() throws Exception {
+        Random random = new Random(7);
+        float[][] vectors = new float[SIZE][];
+        HnswGraph graph = new HnswGraph(DIMENSIONS, SIZE, 16, 200, 42L);
+        for (int i = 0; i < SIZE; i++) {
+            vectors[i] = normalize(gaussian(random));
+            graph.setVector(i, vectors[i]);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            graph.build(pool, done -> { });
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] nodes = new int[K];
+        float[] scores = new float[K];
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = normalize(gaussian(random));
+            int count = graph.search(query, K, 128, nodes, scores);
+            assertThat(count).isEqualTo(K);
+            for (int i = 1; i < count; i++) {
+                assertThat(scores[i]).isLessThanOrEqualTo(scores[i - 1]);
+            }
+
+            Set<Integer> exact = bruteForce(vectors, query);
+            for (int i = 0; i < count; i++) {
+                if (exact.contains(nodes[i])) {
+                    hits++;
+                }
+            }
+        }
+
+        double recall = hits / (double) (QUERIES * K);
+        assertThat(recall).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void singleNodeGraphReturnsItself() throws Exception {
+        HnswGraph graph = new HnswGraph(3, 1, 16, 100, 1L);
+        graph.setVector(0, new float[]{1f, 2f, 3f});
+        graph.build(ForkJoinPool.commonPool(), done -> { });
+
+        int[] nodes = new int[3];
+        float[] scores = new float[3];
+        int count = graph.search(new float[]{1f, 2f, 3f}, 3, 10, nodes, scores);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(nodes[0]).isZero();
+        assertThat(scores[0]).isCloseTo(1f, within(1e-5f));
+    }
+
+    @Test
+    void visitedSetGrowsPastInitialCapacity() {
+        HnswGraph.VisitedSet visited = new HnswGraph.VisitedSet(1);
+
+        for (int node = 0; node < 10_000; node++) {
+            assertThat(visited.mark(node * 31)).isTrue();
+        }
+        for (int node = 0; node < 10_000; node++) {
+            assertThat(visited.mark(node * 31)).isFalse();
+        }
+        assertThat(visited.mark(1)).isTrue();
+    }
+
+    private static Set<Integer> bruteForce(float[][] vectors, float[] query) {
+        return IntStream.range(0, vectors.length)
+                .boxed()
+                .sorted((a, b) -> Float.compare(dot(vectors[b], query), dot(vectors[a], query)))
+                .limit(K)
+                .collect(HashSet::new, Set::add, Set::addAll);
+    }
+
+    private static float[] gaussian(Random random) {
+        float[] v = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            v[i] = (float) random.nextGaussian();
+        }
+        return v;
+    }
+
+    private static float[] normalize(float[] v) {
+        float norm = (float) Math.sqrt(dot(v, v));
+        for (int i = 0; i < v.length; i++) {
+            v[i] /= norm;
+        }
+        return v;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
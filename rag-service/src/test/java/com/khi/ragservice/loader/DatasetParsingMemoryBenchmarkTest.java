@@ -0,0 +1,242 @@
+package com.khi.ragservice.loader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 번들 데이터셋 파싱 메모리 비교
+ * 파일마다 (1) 행 중간 지점에서 GC 후 살아 있는 heap, (2) 파싱 스레드가 할당한 바이트를 잰다.
+ * 기존 방식(파일 전체 문자열 + 전체 트리 / 줄마다 readTree)과 DatasetLoader.forEachRow streaming 경로를
+ * NDJSON(번들 형식)과 같은 내용의 JSON 배열 두 형식에 대해 비교한다.
+ * GC 결과에 의존하므로 기본 test에서는 제외 (gradle benchmark로 실행). 행 수 동등성은 DatasetRowStreamingTest
+ */
+@Tag("benchmark")
+class DatasetParsingMemoryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetParsingMemoryBenchmarkTest.class);
+
+    private static final int LABEL_COUNT = 30;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamingKeepsLiveHeapFlatOnBundledDataset() throws Exception {
+        List<Path> ndjsonFiles = bundledFiles();
+        assertThat(ndjsonFiles).isNotEmpty();
+
+        Result legacyArray = new Result();
+        Result streamingArray = new Result();
+        Result legacyNdjson = new Result();
+        Result streamingNdjson = new Result();
+
+        for (Path ndjson : ndjsonFiles) {
+            Path array = toJsonArray(ndjson);
+            int rows = countRows(ndjson);
+
+            legacyArray.add(measure(rows, probe -> legacyArray(array, probe)));
+            streamingArray.add(measure(rows, probe -> streaming(array, probe)));
+            legacyNdjson.add(measure(rows, probe -> legacyNdjson(ndjson, probe)));
+            streamingNdjson.add(measure(rows, probe -> streaming(ndjson, probe)));
+        }
+
+        log.info(String.format("[bench] dataset files: %d, bytes: %,d", ndjsonFiles.size(),
+                ndjsonFiles.stream().mapToLong(DatasetParsingMemoryBenchmarkTest::size).sum()));
+        log.info(String.format("[bench] %-18s %16s %16s %16s", "path", "max live (KB)", "sum live (KB)", "allocated (MB)"));
+        legacyArray.print("array / legacy");
+        streamingArray.print("array / streaming");
+        legacyNdjson.print("ndjson / legacy");
+        streamingNdjson.print("ndjson / streaming");
+
+        assertThat(streamingArray.rows).isEqualTo(legacyArray.rows);
+        assertThat(streamingNdjson.rows).isEqualTo(legacyNdjson.rows);
+        // 전체 파일을 올리는 기존 배열 경로는 파일 크기에 비례해 heap이 늘고, streaming은 행 하나 수준으로 유지되어야 함
+        assertThat(streamingArray.maxLive).isLessThan(legacyArray.maxLive / 4);
+        assertThat(streamingNdjson.allocated).isLessThan(legacyNdjson.allocated);
+    }
+
+    /** 기존 JSON 배열 경로: 파일 전체를 문자열로 합친 뒤 전체 트리로 파싱 */
+    private long legacyArray(Path path, Probe probe) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String all = reader.lines().collect(Collectors.joining("\n"));
+            JsonNode root = objectMapper.readTree(all);
+            long consumed = 0;
+            for (JsonNode node : root) {
+                consumed += consume(node);
+                probe.row();
+            }
+            return consumed;
+        }
+    }
+
+    /** 기존 NDJSON 경로: 줄마다 readTree */
+    private long legacyNdjson(Path path, Probe probe) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            long consumed = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                consumed += consume(objectMapper.readTree(line));
+                probe.row();
+            }
+            return consumed;
+        }
+    }
+
+    private long streaming(Path path, Probe probe) throws Exception {
+        try (InputStream in = Files.newInputStream(path);
+                JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            long[] consumed = new long[1];
+            DatasetLoader.forEachRow(parser, path.getFileName().toString(), node -> {
+                consumed[0] += consume(node);
+                probe.row();
+                return 1;
+            });
+            return consumed[0];
+        }
+    }
+
+    private static int consume(JsonNode node) {
+        return node.path("text").asText("").length() + node.path("label_id").asInt();
+    }
+
+    private Measurement measure(int rows, ParseRun run) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long baseline = liveHeap();
+        Probe probe = new Probe(rows / 2, baseline);
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long consumed = run.parse(probe);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertThat(consumed).isPositive();
+        assertThat(probe.seen).isEqualTo(rows);
+        return new Measurement(rows, Math.max(0, probe.liveAtMiddle), allocated);
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private List<Path> bundledFiles() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (int labelId = 1; labelId <= LABEL_COUNT; labelId++) {
+            String name = String.format("dataset_label_%02d.txt", labelId);
+            var url = getClass().getClassLoader().getResource(name);
+            if (url != null) {
+                files.add(Path.of(Objects.requireNonNull(url).toURI()));
+            }
+        }
+        return files;
+    }
+
+    private Path toJsonArray(Path ndjson) throws Exception {
+        Path array = dir.resolve(ndjson.getFileName() + ".json");
+        try (BufferedReader reader = Files.newBufferedReader(ndjson, StandardCharsets.UTF_8);
+                OutputStream out = Files.newOutputStream(array)) {
+            out.write('[');
+            boolean first = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(",\n".getBytes(StandardCharsets.UTF_8));
+                }
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+                first = false;
+            }
+            out.write(']');
+        }
+        return array;
+    }
+
+    private static int countRows(Path ndjson) throws Exception {
+        try (var lines = Files.lines(ndjson, StandardCharsets.UTF_8)) {
+            return (int) lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParseRun {
+        long parse(Probe probe) throws Exception;
+    }
+
+    /** 행 중간 지점에서 한 번 GC 후 살아 있는 heap을 기록 */
+    private static final class Probe {
+
+        private final int middle;
+        private final long baseline;
+        private int seen;
+        private long liveAtMiddle;
+
+        Probe(int middle, long baseline) {
+            this.middle = middle;
+            this.baseline = baseline;
+        }
+
+        void row() {
+            if (seen++ == middle) {
+                liveAtMiddle = liveHeap() - baseline;
+            }
+        }
+    }
+
+    private record Measurement(int rows, long live, long allocated) {
+    }
+
+    private static final class Result {
+
+        private long rows;
+        private long maxLive;
+        private long sumLive;
+        private long allocated;
+
+        void add(Measurement m) {
+            rows += m.rows();
+            maxLive = Math.max(maxLive, m.live());
+            sumLive += m.live();
+            allocated += m.allocated();
+        }
+
+        void print(String name) {
+            log.info(String.format("[bench] %-18s %,16d %,16d %,16d", name, maxLive / 1024, sumLive / 1024,
+                    allocated / (1024 * 1024)));
+        }
+    }
+}
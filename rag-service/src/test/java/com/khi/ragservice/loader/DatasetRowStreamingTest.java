@@ -0,0 +1,127 @@
+package com.khi.ragservice.loader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DatasetLoader.forEachRow가 NDJSON과 JSON 배열에서 같은 행을 같은 순서로 넘기는지 확인
+ * (메모리 측정은 DatasetParsingMemoryBenchmarkTest, benchmark 태그)
+ */
+class DatasetRowStreamingTest {
+
+    private static final int LABEL_COUNT = 30;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjsonAndArrayYieldSameRows() throws Exception {
+        String ndjson = """
+                {"id": 1, "text": "안녕", "label_id": 3}
+
+                {"id": 2, "text": "반가워", "label_id": 3}
+                {"id": 3, "text": "잘 가", "label_id": 4}
+                """;
+        String array = """
+                [
+                  {"id": 1, "text": "안녕", "label_id": 3},
+                  {"id": 2, "text": "반가워", "label_id": 3},
+                  {"id": 3, "text": "잘 가", "label_id": 4}
+                ]
+                """;
+
+        assertThat(ids(ndjson.getBytes(StandardCharsets.UTF_8))).containsExactly(1, 2, 3);
+        assertThat(ids(array.getBytes(StandardCharsets.UTF_8))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void skipsUtf8ByteOrderMark() throws Exception {
+        byte[] body = "{\"id\": 7, \"text\": \"a\"}\n".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[body.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, withBom, 3, body.length);
+
+        assertThat(ids(withBom)).containsExactly(7);
+    }
+
+    @Test
+    void emptyFileHasNoRows() throws Exception {
+        assertThat(ids(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void rejectsNonObjectRows() {
+        byte[] input = "[{\"id\": 1}, 2]".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ids(input))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a JSON object");
+    }
+
+    @Test
+    void bundledFilesStreamEveryLineInBothLayouts() throws Exception {
+        int files = 0;
+        for (int labelId = 1; labelId <= LABEL_COUNT; labelId++) {
+            String name = String.format("dataset_label_%02d.txt", labelId);
+            byte[] ndjson;
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+                if (in == null) {
+                    continue;
+                }
+                ndjson = in.readAllBytes();
+            }
+            files++;
+
+            long lines = new String(ndjson, StandardCharsets.UTF_8).lines().filter(line -> !line.isBlank()).count();
+            assertThat(count(ndjson)).as(name).isEqualTo(lines);
+            assertThat(count(toJsonArray(ndjson))).as(name + " as array").isEqualTo(lines);
+        }
+        assertThat(files).isPositive();
+    }
+
+    private List<Integer> ids(byte[] input) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            DatasetLoader.forEachRow(parser, "test", row -> {
+                ids.add(row.path("id").asInt());
+                return 1;
+            });
+        }
+        return ids;
+    }
+
+    private long count(byte[] input) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            return DatasetLoader.forEachRow(parser, "test", row -> 1);
+        }
+    }
+
+    private static byte[] toJsonArray(byte[] ndjson) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ndjson.length + 2);
+        out.write('[');
+        boolean first = true;
+        for (String line : new String(ndjson, StandardCharsets.UTF_8).lines().toList()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+}
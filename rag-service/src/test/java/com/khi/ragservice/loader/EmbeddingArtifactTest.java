@@ -0,0 +1,159 @@
+package com.khi.ragservice.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingArtifactTest {
+
+    private static final int DIMENSIONS = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsHeaderAndEntries() throws IOException {
+        Path path = dir.resolve("dataset.tte");
+        List<EmbeddingArtifact.Entry> entries = entries(50, new Random(1));
+        write(path, entries);
+
+        try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path)) {
+            EmbeddingArtifact.Header header = reader.header();
+            assertThat(header.version()).isEqualTo(EmbeddingArtifact.VERSION);
+            assertThat(header.dimensions()).isEqualTo(DIMENSIONS);
+            assertThat(header.count()).isEqualTo(entries.size());
+            assertThat(header.model()).isEqualTo("text-embedding-3-small");
+
+            assertThat(readAll(reader)).usingRecursiveFieldByFieldElementComparator().isEqualTo(entries);
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void readsAcrossMapWindowBoundaries() throws IOException {
+        Path path = dir.resolve("dataset.tte");
+        List<EmbeddingArtifact.Entry> entries = entries(200, new Random(2));
+        write(path, entries);
+
+        // 레코드보다 작은 구간부터 여러 레코드를 담는 구간까지, 경계가 레코드 중간에 걸리도록 여러 크기로 읽음
+        for (long window : new long[]{1, 7, 33, 64, 100, 257, 4096}) {
+            try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path, window)) {
+                assertThat(readAll(reader))
+                        .as("map window %d", window)
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .isEqualTo(entries);
+            }
+        }
+    }
+
+    @Test
+    void skipAcrossMapWindowBoundariesLandsOnNextRecord() throws IOException {
+        Path path = dir.resolve("dataset.tte");
+        List<EmbeddingArtifact.Entry> entries = entries(120, new Random(3));
+        write(path, entries);
+
+        for (long window : new long[]{1, 33, 100, 4096}) {
+            try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path, window)) {
+                for (int i = 0; i < entries.size(); i++) {
+                    if (i % 3 == 2) {
+                        assertThat(reader.next())
+                                .as("map window %d, record %d", window, i)
+                                .usingRecursiveComparison()
+                                .isEqualTo(entries.get(i));
+                    } else {
+                        reader.skip();
+                    }
+                }
+                assertThat(reader.hasNext()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void fingerprintDependsOnRecordsOnly() throws IOException {
+        List<EmbeddingArtifact.Entry> entries = entries(10, new Random(4));
+        Path first = dir.resolve("first.tte");
+        Path second = dir.resolve("second.tte");
+        write(first, entries);
+        write(second, entries);
+        Path changed = dir.resolve("changed.tte");
+        write(changed, entries.subList(0, 9));
+
+        assertThat(fingerprint(first)).isEqualTo(fingerprint(second));
+        assertThat(fingerprint(changed)).isNotEqualTo(fingerprint(first));
+    }
+
+    @Test
+    void rejectsDimensionMismatchOnWrite() throws IOException {
+        try (EmbeddingArtifact.Writer writer = EmbeddingArtifact.create(dir.resolve("bad.tte"), "m", DIMENSIONS)) {
+            EmbeddingArtifact.Entry entry = new EmbeddingArtifact.Entry(UUID.randomUUID(), "a", "{}", new float[3]);
+
+            assertThatThrownBy(() -> writer.write(entry)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedFileAndForeignFile() throws IOException {
+        Path path = dir.resolve("dataset.tte");
+        write(path, entries(5, new Random(5)));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path)) {
+            assertThatThrownBy(() -> readAll(reader)).isInstanceOf(IOException.class);
+        }
+
+        Path foreign = Files.write(dir.resolve("foreign.bin"), new byte[128]);
+        assertThatThrownBy(() -> EmbeddingArtifact.open(foreign)).isInstanceOf(IOException.class);
+    }
+
+    private static List<EmbeddingArtifact.Entry> entries(int count, Random random) {
+        List<EmbeddingArtifact.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] embedding = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                embedding[d] = (float) random.nextGaussian();
+            }
+            // 길이가 제각각인 한글 본문으로 레코드 경계가 매번 다른 위치에 오도록 함
+            String content = "대화 " + i + " " + "ㅋ".repeat(random.nextInt(40));
+            String metadata = "{\"id\":" + i + ",\"label\":\"라벨" + (i % 7) + "\",\"label_id\":" + (i % 7) + "}";
+            entries.add(new EmbeddingArtifact.Entry(new UUID(random.nextLong(), random.nextLong()), content, metadata, embedding));
+        }
+        return entries;
+    }
+
+    private static void write(Path path, List<EmbeddingArtifact.Entry> entries) throws IOException {
+        try (EmbeddingArtifact.Writer writer = EmbeddingArtifact.create(path, "text-embedding-3-small", DIMENSIONS)) {
+            for (EmbeddingArtifact.Entry entry : entries) {
+                writer.write(entry);
+            }
+            assertThat(writer.count()).isEqualTo(entries.size());
+        }
+    }
+
+    private static List<EmbeddingArtifact.Entry> readAll(EmbeddingArtifact.Reader reader) throws IOException {
+        List<EmbeddingArtifact.Entry> entries = new ArrayList<>();
+        while (reader.hasNext()) {
+            entries.add(reader.next());
+        }
+        return entries;
+    }
+
+    private static String fingerprint(Path path) throws IOException {
+        try (EmbeddingArtifact.Reader reader = EmbeddingArtifact.open(path)) {
+            return reader.header().fingerprint();
+        }
+    }
+}
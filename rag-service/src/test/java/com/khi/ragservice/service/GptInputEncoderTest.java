@@ -0,0 +1,113 @@
+package com.khi.ragservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GptInputEncoderTest {
+
+    private final GptInputEncoder encoder = new GptInputEncoder();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aliasesSpeakersAndDeduplicatesRagItems() {
+        List<Map<String, Object>> messages = List.of(
+                message("u2", "민수", "왜 또 늦었어?", rag("비난", "왜 맨날 이래"), rag("질문", "무슨 일 있어?")),
+                message("u1", "지연", "차가 막혔어", rag("변명", "어쩔 수 없었어")),
+                message("u2", "민수", "매번 그러잖아", rag("비난", "왜 맨날 이래")),
+                message("u1", "지연", "ㅠㅠ"));
+
+        Map<String, Object> input = encoder.encode("u1", "u2", messages);
+
+        assertThat(input).containsOnlyKeys("speakers", "refs", "messages");
+        assertThat((Map<String, String>) input.get("speakers"))
+                .containsExactly(Map.entry("A", "지연"), Map.entry("B", "민수"));
+
+        Map<String, Map<String, Object>> refs = (Map<String, Map<String, Object>>) input.get("refs");
+        assertThat(refs).containsOnlyKeys("1", "2", "3");
+        assertThat(refs.get("1")).containsExactly(Map.entry("label", "비난"), Map.entry("text", "왜 맨날 이래"));
+
+        List<Map<String, Object>> compact = (List<Map<String, Object>>) input.get("messages");
+        assertThat(compact).hasSize(4);
+        assertThat(compact.get(0)).containsExactly(
+                Map.entry("s", "B"), Map.entry("m", "왜 또 늦었어?"), Map.entry("r", List.of(1, 2)));
+        assertThat(compact.get(1).get("r")).isEqualTo(List.of(3));
+        // 같은 label + text는 같은 ref 번호를 재사용
+        assertThat(compact.get(2).get("r")).isEqualTo(List.of(1));
+        // RAG 항목이 없으면 r 필드를 넣지 않음
+        assertThat(compact.get(3)).containsOnlyKeys("s", "m");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sameTextWithDifferentLabelIsSeparateRef() {
+        List<Map<String, Object>> messages = List.of(
+                message("u1", "지연", "a", rag("비난", "같은 문장")),
+                message("u1", "지연", "b", rag("질문", "같은 문장")));
+
+        Map<String, Object> input = encoder.encode("u1", "u2", messages);
+
+        assertThat((Map<String, Object>) input.get("refs")).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unknownSpeakersGetNextAliasesAndFallbackNames() {
+        List<Map<String, Object>> messages = List.of(
+                message("u3", "제3자", "안녕"),
+                message(null, "익명", "누구세요"));
+
+        Map<String, Object> input = encoder.encode("u1", "u2", messages);
+
+        // 메시지가 없는 u1/u2는 이름 대신 별칭을 그대로 씀
+        assertThat((Map<String, String>) input.get("speakers")).containsExactly(
+                Map.entry("A", "A"), Map.entry("B", "B"), Map.entry("C", "제3자"), Map.entry("D", "익명"));
+        List<Map<String, Object>> compact = (List<Map<String, Object>>) input.get("messages");
+        assertThat(compact).extracting(m -> m.get("s")).containsExactly("C", "D");
+    }
+
+    @Test
+    void encodeSpeakersMatchesEncode() {
+        List<Map<String, Object>> messages = List.of(
+                message("u1", "지연", "hi"),
+                message("u2", "민수", "hello"));
+
+        assertThat(encoder.encodeSpeakers("u1", "u2", messages))
+                .isEqualTo(encoder.encode("u1", "u2", messages).get("speakers"));
+    }
+
+    @Test
+    void estimateTokensCountsAsciiByFourAndOthersByOne() {
+        assertThat(GptInputEncoder.estimateTokens("")).isZero();
+        assertThat(GptInputEncoder.estimateTokens("abcdefgh")).isEqualTo(2);
+        assertThat(GptInputEncoder.estimateTokens("안녕")).isEqualTo(2);
+        assertThat(GptInputEncoder.estimateTokens("abcd안녕")).isEqualTo(3);
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> message(String userId, String name, String text, Map<String, Object>... ragItems) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("userId", userId);
+        message.put("name", name);
+        message.put("message", text);
+        if (ragItems.length > 0) {
+            message.put("rag_items", new ArrayList<>(List.of(ragItems)));
+        }
+        return message;
+    }
+
+    private static Map<String, Object> rag(String label, String text) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", 1);
+        item.put("label", label);
+        item.put("label_id", 0);
+        item.put("score", 0.9);
+        item.put("text", text);
+        return item;
+    }
+}
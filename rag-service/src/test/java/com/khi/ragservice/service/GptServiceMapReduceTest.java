@@ -0,0 +1,99 @@
+package com.khi.ragservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khi.ragservice.properties.RagProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GptServiceMapReduceTest {
+
+    private final ThreadPoolTaskExecutor gptMapExecutor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        gptMapExecutor.shutdown();
+    }
+
+    @Test
+    void failedWindowCancelsTheStreamsOfTheOthers() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Flux<String> stalled = Flux.<String>never().doOnCancel(cancelled::countDown);
+        Flux<String> failed = Flux.error(new IllegalStateException("model error"));
+
+        ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+        // 어느 구간이 먼저 호출되든 하나는 멈춰 있고 하나는 실패
+        when(chatClient.prompt().system(anyString()).user(anyString()).stream().content())
+                .thenReturn(stalled, failed);
+        GptService gptService = gptService(chatClient, Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> gptService.generateReportMapReduce("u1", "u2",
+                List.of(message("u1", "지연", "안녕"), message("u2", "민수", "반가워")), null))
+                .hasMessageContaining("model error");
+
+        // 멈춘 구간의 스트림 구독이 해제되고 map 스레드가 반환됨
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gptMapExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(gptMapExecutor.getActiveCount()).isZero();
+    }
+
+    @Test
+    void mapTimeoutCancelsStalledStreams() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(2);
+        Flux<String> stalled = Flux.<String>never().doOnCancel(cancelled::countDown);
+
+        ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+        when(chatClient.prompt().system(anyString()).user(anyString()).stream().content())
+                .thenReturn(stalled);
+        GptService gptService = gptService(chatClient, Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> gptService.generateReportMapReduce("u1", "u2",
+                List.of(message("u1", "지연", "안녕"), message("u2", "민수", "반가워")), null))
+                .isInstanceOf(TimeoutException.class);
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private GptService gptService(ChatClient chatClient, Duration mapTimeout) {
+        RagProperties ragProperties = new RagProperties();
+        ragProperties.getGpt().setWindowSize(1);
+        ragProperties.getGpt().setMapTimeout(mapTimeout);
+
+        gptMapExecutor.setCorePoolSize(2);
+        gptMapExecutor.setMaxPoolSize(2);
+        gptMapExecutor.setThreadNamePrefix("gpt-map-test-");
+        gptMapExecutor.initialize();
+
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+        return new GptService(builder, new ObjectMapper(), new GptInputEncoder(), gptMapExecutor, ragProperties);
+    }
+
+    private static Map<String, Object> message(String userId, String name, String text) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("userId", userId);
+        message.put("name", name);
+        message.put("message", text);
+        return message;
+    }
+}
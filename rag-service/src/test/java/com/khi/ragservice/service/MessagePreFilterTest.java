@@ -0,0 +1,54 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.properties.RagProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessagePreFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessagePreFilter filter = new MessagePreFilter(new RagProperties(), meterRegistry);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "ㅋㅋㅋㅋ", "ㅎㅎ", "ㅠㅠㅠ", "하하하", "ㅋㅋ 하하", "크크크크", "킥킥", "흐흐흐!!",
+            "응", "넵!", "오키~", "OK", "그렇구나...", "대박",
+            "?", "!!!", "😂😂", "   ", "아"})
+    void skipsLowInformationMessages(String text) {
+        assertThat(filter.shouldSkip(text)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "하키", "하키 보러 가자", "키위", "후회해", "허허벌판", "흐리다", "호키포키",
+            "왜 그렇게 말해?", "너 또 늦었잖아", "ㅋㅋ 근데 진짜 화났어", "no way"})
+    void keepsMessagesWithContent(String text) {
+        assertThat(filter.shouldSkip(text)).isFalse();
+    }
+
+    @Test
+    void nullAndBlankAreAlwaysSkipped() {
+        RagProperties properties = new RagProperties();
+        properties.getFilter().setEnabled(false);
+        MessagePreFilter disabled = new MessagePreFilter(properties, meterRegistry);
+
+        assertThat(disabled.shouldSkip(null)).isTrue();
+        assertThat(disabled.shouldSkip(" ")).isTrue();
+        assertThat(disabled.shouldSkip("ㅋㅋㅋ")).isFalse();
+    }
+
+    @Test
+    void filterKeepsPositionsAndRecordsSkipCount() {
+        List<String> out = filter.filter(Arrays.asList("ㅋㅋㅋ", "하키 재밌다", null, "응"));
+
+        assertThat(out).containsExactly(null, "하키 재밌다", null, null);
+        assertThat(meterRegistry.get("rag.prefilter.skipped").summary().totalAmount()).isEqualTo(3);
+    }
+}
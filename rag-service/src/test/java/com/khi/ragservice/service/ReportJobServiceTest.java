@@ -0,0 +1,170 @@
+package com.khi.ragservice.service;
+
+import com.khi.ragservice.entity.ReportJob;
+import com.khi.ragservice.enums.ReportJobStatus;
+import com.khi.ragservice.enums.ReportState;
+import com.khi.ragservice.properties.RagProperties;
+import com.khi.ragservice.repository.ConversationReportRepository;
+import com.khi.ragservice.repository.ReportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final String WORKER = "worker-1";
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private ConversationReportRepository conversationReportRepository;
+
+    private final RagProperties ragProperties = new RagProperties();
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        RagProperties.Job props = ragProperties.getJob();
+        props.setMaxAttempts(5);
+        props.setInitialBackoff(Duration.ofSeconds(30));
+        props.setMaxBackoff(Duration.ofMinutes(3));
+        props.setLeaseTimeout(Duration.ofMinutes(20));
+        reportJobService = new ReportJobService(reportJobRepository, conversationReportRepository, ragProperties);
+    }
+
+    @Test
+    void claimLeasesJobAndCountsAttempt() {
+        ReportJob job = job(ReportJobStatus.QUEUED, 0, null);
+        when(reportJobRepository.findClaimable(any(), anyInt())).thenReturn(List.of(job));
+
+        List<ReportJob> claimed = reportJobService.claim(WORKER, 4);
+
+        assertThat(claimed).containsExactly(job);
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getLeaseOwner()).isEqualTo(WORKER);
+        assertThat(job.getLeaseUntil()).isCloseTo(LocalDateTime.now().plusMinutes(20), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void claimSkipsAlreadyCompletedReport() {
+        ReportJob job = job(ReportJobStatus.RUNNING, 1, "dead-worker");
+        when(reportJobRepository.findClaimable(any(), anyInt())).thenReturn(List.of(job));
+        when(conversationReportRepository.existsByIdAndState(job.getReportId(), ReportState.COMPLETED)).thenReturn(true);
+
+        assertThat(reportJobService.claim(WORKER, 4)).isEmpty();
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.SUCCEEDED);
+        assertThat(job.getLeaseOwner()).isNull();
+    }
+
+    @Test
+    void claimGivesUpExpiredLeaseWithNoAttemptsLeft() {
+        ReportJob job = job(ReportJobStatus.RUNNING, 5, "dead-worker");
+        when(reportJobRepository.findClaimable(any(), anyInt())).thenReturn(List.of(job));
+
+        assertThat(reportJobService.claim(WORKER, 4)).isEmpty();
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        verify(conversationReportRepository).updateState(job.getReportId(), ReportState.FAILED);
+    }
+
+    @Test
+    void failureBacksOffExponentiallyUpToMax() {
+        // 시도 1 → 30s, 2 → 60s, 3 → 120s, 4 → 240s지만 maxBackoff 3분으로 제한
+        long[] expectedSeconds = {30, 60, 120, 180};
+        for (int attempt = 1; attempt <= expectedSeconds.length; attempt++) {
+            ReportJob job = job(ReportJobStatus.RUNNING, attempt, WORKER);
+            when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+            reportJobService.markFailed(job.getId(), WORKER, new IllegalStateException("gpt timeout"));
+
+            assertThat(job.getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+            assertThat(job.getLeaseOwner()).isNull();
+            assertThat(job.getLastError()).contains("gpt timeout");
+            assertThat(job.getNextRunAt())
+                    .as("attempt %d", attempt)
+                    .isCloseTo(LocalDateTime.now().plusSeconds(expectedSeconds[attempt - 1]),
+                            within(5, ChronoUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void failureOnLastAttemptMarksReportFailed() {
+        ReportJob job = job(ReportJobStatus.RUNNING, 5, WORKER);
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        reportJobService.markFailed(job.getId(), WORKER, new IllegalStateException("x".repeat(5000)));
+
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(job.getLastError()).hasSize(1000);
+        verify(conversationReportRepository).updateState(job.getReportId(), ReportState.FAILED);
+    }
+
+    @Test
+    void resultsFromLostLeaseAreIgnored() {
+        ReportJob reclaimed = job(ReportJobStatus.RUNNING, 2, "worker-2");
+        when(reportJobRepository.findById(reclaimed.getId())).thenReturn(Optional.of(reclaimed));
+
+        reportJobService.markSucceeded(reclaimed.getId(), WORKER);
+        reportJobService.markFailed(reclaimed.getId(), WORKER, new IllegalStateException("late"));
+
+        assertThat(reclaimed.getStatus()).isEqualTo(ReportJobStatus.RUNNING);
+        assertThat(reclaimed.getLeaseOwner()).isEqualTo("worker-2");
+        assertThat(reclaimed.getLastError()).isNull();
+        verify(conversationReportRepository, never()).updateState(any(), any());
+    }
+
+    @Test
+    void successCompletesOwnedLease() {
+        ReportJob job = job(ReportJobStatus.RUNNING, 1, WORKER);
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        reportJobService.markSucceeded(job.getId(), WORKER);
+
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.SUCCEEDED);
+        assertThat(job.getLeaseOwner()).isNull();
+        assertThat(job.getLeaseUntil()).isNull();
+    }
+
+    @Test
+    void releaseReturnsAttemptAndRequeues() {
+        ReportJob job = job(ReportJobStatus.RUNNING, 1, WORKER);
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        reportJobService.release(job.getId());
+
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(job.getAttempts()).isZero();
+        assertThat(job.getLeaseOwner()).isNull();
+    }
+
+    private static ReportJob job(ReportJobStatus status, int attempts, String leaseOwner) {
+        ReportJob job = new ReportJob();
+        job.setId(10L + attempts);
+        job.setReportId(100L + attempts);
+        job.setStatus(status);
+        job.setAttempts(attempts);
+        job.setLeaseOwner(leaseOwner);
+        job.setLeaseUntil(leaseOwner != null ? LocalDateTime.now().plusMinutes(1) : null);
+        job.setNextRunAt(LocalDateTime.now());
+        return job;
+    }
+}
@@ -0,0 +1,47 @@
+package com.khi.securityservice.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 닉네임/프로필 이미지 변경을 Redis 채널로 알림
+ * chat-service는 이 채널을 구독해 캐시된 사용자 정보를 무효화한다.
+ */
+@Slf4j
+@Component
+public class UserProfileEventPublisher {
+
+    public static final String PROFILE_UPDATED_CHANNEL = "user:profile-updated";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public UserProfileEventPublisher(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 커밋 이후에 발행해야 구독 측이 다시 조회했을 때 변경된 값을 받음
+    public void publishProfileUpdated(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId);
+                }
+            });
+        } else {
+            publish(userId);
+        }
+    }
+
+    private void publish(String userId) {
+        try {
+            redisTemplate.convertAndSend(PROFILE_UPDATED_CHANNEL, userId);
+            log.info("[SECURITY-SERVICE] userId: {} 프로필 변경 이벤트 발행", userId);
+        } catch (Exception e) {
+            log.warn("[SECURITY-SERVICE] userId: {} 프로필 변경 이벤트 발행 실패: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -15,11 +15,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final NcpStorageService ncpStorageService;
+    private final UserProfileEventPublisher userProfileEventPublisher;
     private final int NICKNAME_MAX_CHAR = 8;
 
-    public UserService(UserRepository userRepository, NcpStorageService ncpStorageService) {
+    public UserService(UserRepository userRepository, NcpStorageService ncpStorageService,
+            UserProfileEventPublisher userProfileEventPublisher) {
         this.userRepository = userRepository;
         this.ncpStorageService = ncpStorageService;
+        this.userProfileEventPublisher = userProfileEventPublisher;
     }
 
     // 유저 프로필 수정
@@ -52,6 +55,7 @@ public class UserService {
             user.setProfileImgUrl(null);
         }
         userRepository.save(user);
+        userProfileEventPublisher.publishProfileUpdated(userId);
 
         return new UserProfileResponseDto(user);
     }